@@ -0,0 +1,149 @@
+package ua.yehor.autolightbackend.benchmarks;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ua.yehor.autolightbackend.AutolightBackendApplication;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Starts the application context used by benchmarks.
+ * By default the application runs against an in-memory H2 database, so benchmarks measure the application
+ * rather than a database server. System properties starting with {@value #PROPERTY_PREFIX}
+ * are passed to the application with the prefix removed, e.g. -Dbenchmark.spring.datasource.url=...
+ * Forked benchmark JVMs inherit the JVM arguments of the runner, so these properties reach them as well.
+ */
+public final class BenchmarkApplication {
+    /**
+     * Prefix of system properties forwarded to the application.
+     */
+    public static final String PROPERTY_PREFIX = "benchmark.";
+
+    /**
+     * Application properties replacing the PostgreSQL and environment-specific settings.
+     */
+    private static final Map<String, String> DEFAULT_PROPERTIES = Map.of(
+            "spring.datasource.url", "jdbc:h2:mem:autolight;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE",
+            "spring.datasource.driverClassName", "org.h2.Driver",
+            "spring.datasource.username", "sa",
+            "spring.datasource.password", "",
+            "spring.datasource.hikari.maximum-pool-size", "64",
+            "spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect",
+            "spring.sql.init.mode", "never",
+            "secretKey", "YXV0b2xpZ2h0LWJlbmNobWFyay1zZWNyZXQta2V5LTI1Ni1iaXRzLWxvbmc=",
+            "logging.level.root", "WARN");
+
+    /**
+     * Utility class, not instantiated.
+     */
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Starts the application without a web server.
+     *
+     * @return The started application context.
+     */
+    public static ConfigurableApplicationContext start() {
+        return start(WebApplicationType.NONE, Map.of());
+    }
+
+    /**
+     * Starts the application with its web server and its management server listening on free ports.
+     *
+     * @return The started application context.
+     * @see #getPort(ApplicationContext)
+     */
+    public static ConfigurableApplicationContext startServer() {
+        return start(WebApplicationType.SERVLET, Map.of("server.port", "0", "management.server.port", "0"));
+    }
+
+    /**
+     * Retrieves the port of the web server of an application started by {@link #startServer()}.
+     *
+     * @param context The application context.
+     * @return The port the web server listens on.
+     */
+    public static int getPort(ApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    /**
+     * Starts the application.
+     *
+     * @param webApplicationType The type of the application, determining whether a web server is started.
+     * @param properties         Application properties added to the defaults, still overridable by system properties.
+     * @return The started application context.
+     */
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType,
+                                                        Map<String, String> properties) {
+        Map<String, String> mergedProperties = new HashMap<>(DEFAULT_PROPERTIES);
+        mergedProperties.put("anomalyDetection.snapshotPath", temporarySnapshotPath().toString());
+        mergedProperties.putAll(properties);
+        mergedProperties.putAll(forwardedProperties());
+
+        return new SpringApplicationBuilder(AutolightBackendApplication.class)
+                .web(webApplicationType)
+                .run(mergedProperties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+    }
+
+    /**
+     * Runs an operation with an entity manager bound to the thread, as the open-in-view interceptor
+     * does for every web request, so services see the same persistence context lifecycle as in production.
+     *
+     * @param context   The application context.
+     * @param operation The operation to run.
+     * @param <T>       The type of the operation result.
+     * @return The result of the operation.
+     */
+    public static <T> T inRequestScope(ApplicationContext context, Supplier<T> operation) {
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        EntityManagerHolder entityManagerHolder = new EntityManagerHolder(entityManagerFactory.createEntityManager());
+
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, entityManagerHolder);
+        try {
+            return operation.get();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManagerHolder.getEntityManager().close();
+        }
+    }
+
+    /**
+     * Collects the system properties forwarded to the application.
+     *
+     * @return Application properties keyed by name without the prefix.
+     */
+    private static Map<String, String> forwardedProperties() {
+        return System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(PROPERTY_PREFIX))
+                .collect(Collectors.toMap(name -> name.substring(PROPERTY_PREFIX.length()), System::getProperty));
+    }
+
+    /**
+     * Creates a path for the anomaly detector snapshot outside the working directory.
+     *
+     * @return The snapshot path.
+     */
+    private static Path temporarySnapshotPath() {
+        try {
+            return Files.createTempDirectory("autolight-benchmark").resolve("anomaly-detector.snapshot");
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create a temporary directory", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ua.yehor.autolightbackend.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ua.yehor.autolightbackend.AutolightBackendApplication;
+
+import java.util.Objects;
+
+/**
+ * Runs all benchmarks, or those selected by the usual JMH command line arguments,
+ * and writes the results as JSON to target/jmh-result-{version}.json,
+ * so results of different application versions can be kept and compared.
+ */
+public final class BenchmarkSuiteRunner {
+    /**
+     * Version used when the application was not loaded from a versioned jar.
+     */
+    private static final String UNKNOWN_VERSION = "dev";
+
+    /**
+     * Utility class, not instantiated.
+     */
+    private BenchmarkSuiteRunner() {
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args JMH command line arguments, e.g. a benchmark name pattern.
+     * @throws CommandLineOptionException if the arguments are not valid.
+     * @throws RunnerException            if a benchmark run fails.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        String version = Objects.requireNonNullElse(
+                AutolightBackendApplication.class.getPackage().getImplementationVersion(), UNKNOWN_VERSION);
+
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result-" + version + ".json")
+                .build();
+
+        new Runner(options).run();
+    }
+}
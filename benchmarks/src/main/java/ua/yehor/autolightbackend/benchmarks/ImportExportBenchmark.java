@@ -0,0 +1,110 @@
+package ua.yehor.autolightbackend.benchmarks;
+
+import com.opencsv.exceptions.CsvValidationException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+import ua.yehor.autolightbackend.model.UserEntity;
+import ua.yehor.autolightbackend.service.ImportExportService;
+import ua.yehor.autolightbackend.service.UserService;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures importing and exporting users as CSV files.
+ * The export writes users.csv to the working directory, as the application does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ImportExportBenchmark {
+    /**
+     * Number of users in an imported file and stored before an export.
+     */
+    @Param({"100", "1000"})
+    private int users;
+
+    /**
+     * The application under test.
+     */
+    private ConfigurableApplicationContext context;
+
+    /**
+     * Service under test.
+     */
+    private ImportExportService importExportService;
+
+    /**
+     * File imported by the next invocation.
+     */
+    private MockMultipartFile importedFile;
+
+    /**
+     * Number of files generated so far, keeping the logins of every file unique.
+     */
+    private int fileNumber;
+
+    /**
+     * Starts the application and stores the users exported by the export benchmark.
+     */
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        importExportService = context.getBean(ImportExportService.class);
+
+        UserService userService = context.getBean(UserService.class);
+        for (int i = 0; i < users; i++) {
+            userService.save(new UserEntity("stored-" + i, "password-" + i));
+        }
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Generates a file of users that do not exist yet, so every invocation imports all of its rows.
+     * An import takes milliseconds, so the per-invocation setup does not distort the measurement.
+     */
+    @Setup(Level.Invocation)
+    public void generateImportedFile() {
+        StringBuilder csv = new StringBuilder("login,password\n");
+        for (int i = 0; i < users; i++) {
+            csv.append("imported-").append(fileNumber).append('-').append(i).append(",password-").append(i).append('\n');
+        }
+        fileNumber++;
+
+        importedFile = new MockMultipartFile("file", "users.csv", "text/csv",
+                csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Imports the generated file.
+     *
+     * @throws IOException            if the file cannot be read.
+     * @throws CsvValidationException if the file is not valid CSV.
+     */
+    @Benchmark
+    public void importUsers() throws IOException, CsvValidationException {
+        importExportService.saveUsersFromCsv(importedFile);
+    }
+
+    /**
+     * Exports all users to the CSV file.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    @Benchmark
+    public void exportUsers() throws IOException {
+        importExportService.saveUsersToCsv();
+    }
+}
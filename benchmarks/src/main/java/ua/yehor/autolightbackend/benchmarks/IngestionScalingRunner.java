@@ -0,0 +1,57 @@
+package ua.yehor.autolightbackend.benchmarks;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs {@link ReadingIngestionBenchmark} with 1, 2, 4... threads up to the number of available processors
+ * and prints the throughput at each thread count relative to a single thread.
+ * Linear scaling shows as a speed-up equal to the thread count.
+ */
+public final class IngestionScalingRunner {
+    /**
+     * Utility class, not instantiated.
+     */
+    private IngestionScalingRunner() {
+    }
+
+    /**
+     * Runs the scaling series.
+     *
+     * @param args Not used.
+     * @throws RunnerException if a benchmark run fails.
+     */
+    public static void main(String[] args) throws RunnerException {
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2) {
+            threadCounts.add(threads);
+        }
+
+        double singleThreadScore = 0;
+        List<String> lines = new ArrayList<>();
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .include(ReadingIngestionBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+
+            RunResult result = new Runner(options).runSingle();
+            double score = result.getPrimaryResult().getScore();
+            if (threads == 1) {
+                singleThreadScore = score;
+            }
+
+            lines.add(String.format("%7d %14.1f %8.2fx", threads, score, score / singleThreadScore));
+        }
+
+        System.out.println();
+        System.out.println("threads   readings/s  speed-up");
+        lines.forEach(System.out::println);
+    }
+}
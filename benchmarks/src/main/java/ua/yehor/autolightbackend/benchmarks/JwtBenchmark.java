@@ -0,0 +1,119 @@
+package ua.yehor.autolightbackend.benchmarks;
+
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import ua.yehor.autolightbackend.jwt.JwtAuthenticationFilter;
+import ua.yehor.autolightbackend.jwt.JwtService;
+import ua.yehor.autolightbackend.model.UserEntity;
+import ua.yehor.autolightbackend.service.UserService;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of issuing and checking JWT tokens, alone and as part of authenticating a request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JwtBenchmark {
+    /**
+     * The application under test.
+     */
+    private ConfigurableApplicationContext context;
+
+    /**
+     * Service issuing and parsing tokens.
+     */
+    private JwtService jwtService;
+
+    /**
+     * Filter authenticating requests by their token.
+     */
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    /**
+     * Details of the user tokens are issued to.
+     */
+    private UserDetails userDetails;
+
+    /**
+     * Token of the user, issued once for the verification benchmarks.
+     */
+    private String token;
+
+    /**
+     * Starts the application and issues a token to a new user.
+     */
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        jwtService = context.getBean(JwtService.class);
+        jwtAuthenticationFilter = context.getBean(JwtAuthenticationFilter.class);
+
+        context.getBean(UserService.class).save(new UserEntity("benchmark", "benchmark"));
+        userDetails = context.getBean(UserDetailsService.class).loadUserByUsername("benchmark");
+        token = jwtService.generateToken(userDetails);
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Issues a token, as done on every login.
+     *
+     * @return The token, consumed by JMH.
+     */
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    /**
+     * Parses a token and checks it against the already loaded user details.
+     *
+     * @return True if the token is valid, consumed by JMH.
+     */
+    @Benchmark
+    public boolean verifyToken() {
+        return jwtService.extractUsername(token).equals(userDetails.getUsername())
+                && jwtService.isTokenValid(token, userDetails);
+    }
+
+    /**
+     * Passes a request with the token through the authentication filter,
+     * including loading the user the token was issued to.
+     *
+     * @return The authentication established by the filter, consumed by JMH.
+     * @throws ServletException if the filter fails.
+     * @throws IOException      if the filter fails.
+     */
+    @Benchmark
+    public Authentication authenticateRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/devices");
+        request.addHeader("Authorization", JwtAuthenticationFilter.AUTHENTICATION_HEADER_START + token);
+
+        try {
+            jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
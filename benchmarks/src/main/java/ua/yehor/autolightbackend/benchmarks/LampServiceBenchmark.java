@@ -0,0 +1,117 @@
+package ua.yehor.autolightbackend.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ua.yehor.autolightbackend.dto.DeviceDto;
+import ua.yehor.autolightbackend.dto.LampDto;
+import ua.yehor.autolightbackend.dto.LampEditingDto;
+import ua.yehor.autolightbackend.model.LampEntity;
+import ua.yehor.autolightbackend.model.UserEntity;
+import ua.yehor.autolightbackend.service.DeviceService;
+import ua.yehor.autolightbackend.service.LampService;
+import ua.yehor.autolightbackend.service.UserService;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the latency of manual lamp edits.
+ * Every benchmark thread edits its own lamp of a shared device, so edits do not conflict with each other.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LampServiceBenchmark {
+    /**
+     * The application under test.
+     */
+    private ConfigurableApplicationContext context;
+
+    /**
+     * Service under test.
+     */
+    private LampService lampService;
+
+    /**
+     * ID of the device holding the lamps.
+     */
+    private Long deviceId;
+
+    /**
+     * Starts the application and creates the device holding the lamps.
+     */
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        lampService = context.getBean(LampService.class);
+
+        context.getBean(UserService.class).save(new UserEntity("benchmark", "benchmark"));
+        deviceId = BenchmarkApplication.inRequestScope(context, () -> context.getBean(DeviceService.class)
+                .saveDevice(new DeviceDto("benchmark", "bedside-lights")).get(0).id());
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Sets the next light level of the calling thread's lamp.
+     *
+     * @param lamp The lamp of the calling thread.
+     * @return The edited lamp, consumed by JMH.
+     */
+    @Benchmark
+    public LampEntity editLamp(ThreadLamp lamp) {
+        LampEditingDto lampEditingDto = new LampEditingDto(deviceId, lamp.name, lamp.nextLightLevel());
+
+        return BenchmarkApplication.inRequestScope(context, () -> lampService.editLamp(lampEditingDto, null));
+    }
+
+    /**
+     * Lamp owned by a single benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class ThreadLamp {
+        /**
+         * Source of unique lamp numbers.
+         */
+        private static final AtomicInteger LAMP_NUMBERS = new AtomicInteger();
+
+        /**
+         * Name of the lamp.
+         */
+        private final String name = "lamp-" + LAMP_NUMBERS.incrementAndGet();
+
+        /**
+         * Step of the generated light levels.
+         */
+        private int step;
+
+        /**
+         * Adds the lamp to the device of the benchmark.
+         *
+         * @param benchmark The benchmark state holding the device.
+         */
+        @Setup(Level.Trial)
+        public void createLamp(LampServiceBenchmark benchmark) {
+            BenchmarkApplication.inRequestScope(benchmark.context,
+                    () -> benchmark.lampService.saveLamp(new LampDto(benchmark.deviceId, name, 0)));
+        }
+
+        /**
+         * Generates the next light level, always different from the current one.
+         *
+         * @return The next light level.
+         */
+        private int nextLightLevel() {
+            return ++step % 100;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ua.yehor.autolightbackend.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ua.yehor.autolightbackend.dto.DeviceDto;
+import ua.yehor.autolightbackend.dto.ReadingDto;
+import ua.yehor.autolightbackend.model.ReadingEntity;
+import ua.yehor.autolightbackend.model.UserEntity;
+import ua.yehor.autolightbackend.service.DeviceService;
+import ua.yehor.autolightbackend.service.ReadingService;
+import ua.yehor.autolightbackend.service.UserService;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the throughput of readings written concurrently to one device.
+ * Every benchmark thread acts as one stream of a multi-stream monitor, so all threads contend for the same device.
+ * Run with increasing thread counts, e.g. by {@link IngestionScalingRunner}, to see how ingestion scales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReadingIngestionBenchmark {
+    /**
+     * The application under test.
+     */
+    private ConfigurableApplicationContext context;
+
+    /**
+     * Service receiving the readings.
+     */
+    private ReadingService readingService;
+
+    /**
+     * ID of the device all readings are written to.
+     */
+    private Long deviceId;
+
+    /**
+     * Starts the application and creates the user and device readings are written to.
+     */
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        readingService = context.getBean(ReadingService.class);
+
+        UserService userService = context.getBean(UserService.class);
+        userService.save(new UserEntity("benchmark", "benchmark"));
+
+        deviceId = BenchmarkApplication.inRequestScope(context, () -> context.getBean(DeviceService.class)
+                .saveDevice(new DeviceDto("benchmark", "bedside-monitor")).get(0).id());
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Saves one reading of the calling thread's stream.
+     *
+     * @param stream The stream of the calling thread.
+     * @return The saved reading, consumed by JMH.
+     */
+    @Benchmark
+    public ReadingEntity saveReading(ReadingStream stream) {
+        return BenchmarkApplication.inRequestScope(context, () -> readingService.saveReading(
+                new ReadingDto(deviceId, stream.name, stream.nextValue(), false, null, null)));
+    }
+
+    /**
+     * One stream of readings, owned by a single benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class ReadingStream {
+        /**
+         * Source of unique stream numbers.
+         */
+        private static final AtomicInteger STREAM_NUMBERS = new AtomicInteger();
+
+        /**
+         * Name of the readings of this stream.
+         */
+        private final String name = "stream-" + STREAM_NUMBERS.incrementAndGet();
+
+        /**
+         * Step of the generated values.
+         */
+        private int step;
+
+        /**
+         * Generates the next value, oscillating around a stable baseline.
+         *
+         * @return The value of the next reading.
+         */
+        private int nextValue() {
+            return 70 + (step++ % 10);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ua.yehor.autolightbackend.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ua.yehor.autolightbackend.dto.DeviceDto;
+import ua.yehor.autolightbackend.dto.ReadingDto;
+import ua.yehor.autolightbackend.model.ReadingEntity;
+import ua.yehor.autolightbackend.model.UserEntity;
+import ua.yehor.autolightbackend.service.DeviceService;
+import ua.yehor.autolightbackend.service.ReadingService;
+import ua.yehor.autolightbackend.service.UserService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of saving a single reading and of listing the warnings of a user
+ * whose device already holds a number of readings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReadingServiceBenchmark {
+    /**
+     * Every reading with an index divisible by this number is seeded as a warning.
+     */
+    private static final int WARNING_INTERVAL = 10;
+
+    /**
+     * Number of readings stored on the device before the measurement.
+     */
+    @Param({"1000", "10000"})
+    private int seededReadings;
+
+    /**
+     * The application under test.
+     */
+    private ConfigurableApplicationContext context;
+
+    /**
+     * Service under test.
+     */
+    private ReadingService readingService;
+
+    /**
+     * ID of the device readings are written to.
+     */
+    private Long deviceId;
+
+    /**
+     * Value of the next saved reading.
+     */
+    private int step;
+
+    /**
+     * Starts the application and seeds the readings of a new user's device.
+     */
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        readingService = context.getBean(ReadingService.class);
+
+        context.getBean(UserService.class).save(new UserEntity("benchmark", "benchmark"));
+        deviceId = BenchmarkApplication.inRequestScope(context, () -> context.getBean(DeviceService.class)
+                .saveDevice(new DeviceDto("benchmark", "bedside-monitor")).get(0).id());
+
+        for (int i = 0; i < seededReadings; i++) {
+            ReadingDto readingDto = new ReadingDto(deviceId, "pulse", 70 + i % 10, i % WARNING_INTERVAL == 0,
+                    null, null);
+            BenchmarkApplication.inRequestScope(context, () -> readingService.saveReading(readingDto));
+        }
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Saves one regular reading of the device.
+     *
+     * @return The saved reading, consumed by JMH.
+     */
+    @Benchmark
+    public ReadingEntity saveReading() {
+        ReadingDto readingDto = new ReadingDto(deviceId, "pulse", 70 + step++ % 10, false, null, null);
+
+        return BenchmarkApplication.inRequestScope(context, () -> readingService.saveReading(readingDto));
+    }
+
+    /**
+     * Lists the warnings of the user owning the device.
+     *
+     * @return The warnings, consumed by JMH.
+     */
+    @Benchmark
+    public List<ReadingEntity> getAllUserWarnings() {
+        return BenchmarkApplication.inRequestScope(context, () -> readingService.getAllUserWarnings("benchmark"));
+    }
+}
@@ -0,0 +1,110 @@
+package ua.yehor.autolightbackend.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import ua.yehor.autolightbackend.dto.ReadingDto;
+import ua.yehor.autolightbackend.model.ReadingEntity;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of writing a reading listing and of reading a submitted reading
+ * in every format offered by content negotiation, using the mappers of the application's message converters.
+ * The payload size of every format is printed when a trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class WireFormatBenchmark {
+    /**
+     * Media type of the measured format.
+     */
+    @Param({"application/json", "application/cbor", "application/x-jackson-smile"})
+    private String mediaType;
+
+    /**
+     * Number of readings in a listing.
+     */
+    @Param({"10", "1000"})
+    private int readings;
+
+    /**
+     * Mapper of the converter handling the measured format.
+     */
+    private ObjectMapper objectMapper;
+
+    /**
+     * Readings listed by the query endpoints.
+     */
+    private List<ReadingEntity> readingEntities;
+
+    /**
+     * Encoded body of a submitted reading.
+     */
+    private byte[] readingDtoPayload;
+
+    /**
+     * Starts the application to take the mapper of the measured format, and encodes the readings once.
+     *
+     * @throws IOException if the readings cannot be encoded.
+     */
+    @Setup(Level.Trial)
+    public void prepareReadings() throws IOException {
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start()) {
+            MediaType type = MediaType.parseMediaType(mediaType);
+            objectMapper = context.getBean(HttpMessageConverters.class).getConverters().stream()
+                    .filter(converter -> converter instanceof AbstractJackson2HttpMessageConverter
+                            && converter.canWrite(List.class, type))
+                    .map(converter -> ((AbstractJackson2HttpMessageConverter) converter).getObjectMapper())
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No converter writes " + mediaType));
+        }
+
+        LocalDateTime measuredAt = LocalDateTime.now().minusDays(1);
+        readingEntities = new ArrayList<>(readings);
+        for (int i = 0; i < readings; i++) {
+            ReadingEntity reading = new ReadingEntity("illuminance", 300 + i % 50, i % 10 == 0,
+                    "reading-" + i, measuredAt.plusSeconds(i));
+            reading.setId((long) i);
+            readingEntities.add(reading);
+        }
+        readingDtoPayload = objectMapper.writeValueAsBytes(new ReadingDto(1L, "illuminance", 300, false,
+                "reading-0", measuredAt));
+
+        System.out.printf("%n%s: %d readings listed in %d bytes, one reading submitted in %d bytes%n", mediaType,
+                readings, objectMapper.writeValueAsBytes(readingEntities).length, readingDtoPayload.length);
+    }
+
+    /**
+     * Encodes a reading listing, as returned by the reading and warning endpoints.
+     *
+     * @return The encoded listing, consumed by JMH.
+     * @throws IOException if the readings cannot be encoded.
+     */
+    @Benchmark
+    public byte[] writeReadingListing() throws IOException {
+        return objectMapper.writeValueAsBytes(readingEntities);
+    }
+
+    /**
+     * Decodes the body of a submitted reading, as received by the reading ingestion endpoints.
+     *
+     * @return The decoded reading, consumed by JMH.
+     * @throws IOException if the reading cannot be decoded.
+     */
+    @Benchmark
+    public ReadingDto readReading() throws IOException {
+        return objectMapper.readValue(readingDtoPayload, ReadingDto.class);
+    }
+}
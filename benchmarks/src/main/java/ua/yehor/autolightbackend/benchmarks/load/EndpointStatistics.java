@@ -0,0 +1,122 @@
+package ua.yehor.autolightbackend.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencies and outcomes of the requests sent to one endpoint.
+ * Latencies are recorded in an HDR histogram, so percentiles stay exact up to three significant digits
+ * however long the tail is.
+ */
+public class EndpointStatistics {
+    /**
+     * Number of nanoseconds in a millisecond, the unit latencies are reported in.
+     */
+    private static final double NANOSECONDS_PER_MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Name of the endpoint, e.g. "POST /readings".
+     */
+    private final String name;
+
+    /**
+     * Recorder of latencies in nanoseconds, safe for concurrent recording.
+     */
+    private final Recorder latencies = new Recorder(3);
+
+    /**
+     * Number of requests completed since the last reset.
+     */
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * Number of requests completed with an error status or without a response since the last reset.
+     */
+    private final AtomicLong errors = new AtomicLong();
+
+    /**
+     * Creates statistics of an endpoint.
+     *
+     * @param name The name of the endpoint.
+     */
+    public EndpointStatistics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param latencyNanos The time from sending the request to receiving the response.
+     * @param successful   True if the response has a success status, false otherwise.
+     */
+    public void record(long latencyNanos, boolean successful) {
+        latencies.recordValue(latencyNanos);
+        requests.incrementAndGet();
+        if (!successful) {
+            errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * Discards everything recorded so far, e.g. at the end of the warm-up.
+     */
+    public void reset() {
+        latencies.reset();
+        requests.set(0);
+        errors.set(0);
+    }
+
+    /**
+     * Prints a summary line of the requests recorded since the last reset,
+     * and writes their full percentile distribution to a file readable by HDR histogram plotters.
+     *
+     * @param out             The stream the summary line is printed to.
+     * @param durationSeconds The duration of the measurement.
+     * @param directory       The directory of the percentile distribution file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void report(PrintStream out, int durationSeconds, Path directory) throws IOException {
+        Histogram histogram = latencies.getIntervalHistogram();
+        long requestCount = requests.get();
+        long errorCount = errors.get();
+
+        out.printf("%-30s %9d %9.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, requestCount,
+                (double) requestCount / durationSeconds,
+                requestCount == 0 ? 0 : 100.0 * errorCount / requestCount,
+                percentile(histogram, 50), percentile(histogram, 90), percentile(histogram, 99),
+                percentile(histogram, 99.9), histogram.getMaxValue() / NANOSECONDS_PER_MILLISECOND);
+
+        Path file = directory.resolve(name.replaceAll("[^A-Za-z0-9]+", "-") + ".hgrm");
+        try (PrintStream fileStream = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(fileStream, NANOSECONDS_PER_MILLISECOND);
+        }
+    }
+
+    /**
+     * Prints the header of the summary lines printed by {@link #report(PrintStream, int, Path)}.
+     *
+     * @param out The stream the header is printed to.
+     */
+    public static void printHeader(PrintStream out) {
+        out.printf("%-30s %9s %9s %8s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "req/s", "errors",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+
+    /**
+     * Retrieves a latency percentile in milliseconds.
+     *
+     * @param histogram  The histogram of latencies in nanoseconds.
+     * @param percentile The percentile, between 0 and 100.
+     * @return The latency at the percentile in milliseconds.
+     */
+    private static double percentile(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOSECONDS_PER_MILLISECOND;
+    }
+}
@@ -0,0 +1,341 @@
+package ua.yehor.autolightbackend.benchmarks.load;
+
+import ua.yehor.autolightbackend.benchmarks.BenchmarkApplication;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load harness serving simulated devices and users from one application node.
+ * The application is started as a {@link LoadServer} in a JVM of its own, against the embedded database unless
+ * another one is configured with -Dbenchmark.* properties, and is driven over HTTP on the loopback interface,
+ * so the clients do not take heap, garbage collection pauses or threads from the server they measure.
+ * <p>
+ * Every device posts readings and every user polls the warnings of their devices and edits their lamps,
+ * each at a fixed rate. Requests are sent asynchronously on schedule, whether earlier responses arrived or not,
+ * so a slow server shows up as latency instead of silently lowering the offered load.
+ * After the warm-up, throughput, error rate and latency percentiles are measured per endpoint
+ * and printed at the end; full percentile distributions are written to the result directory.
+ */
+public final class LoadHarness {
+    /**
+     * Time the server is given to start and create the simulated users and devices.
+     */
+    private static final long SERVER_START_TIMEOUT_SECONDS = 600;
+
+    /**
+     * Time the server is given to shut down gracefully before it is killed.
+     */
+    private static final long SERVER_STOP_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Interval at which the harness checks whether the server published its fixture.
+     */
+    private static final long FIXTURE_POLL_MILLISECONDS = 200;
+
+    /**
+     * Time given to requests in flight to complete after the load stops.
+     */
+    private static final long DRAIN_SECONDS = 5;
+
+    /**
+     * Client sending all requests.
+     */
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    /**
+     * Statistics of posted readings.
+     */
+    private final EndpointStatistics readingStatistics = new EndpointStatistics("POST /readings");
+
+    /**
+     * Statistics of warning listings.
+     */
+    private final EndpointStatistics warningStatistics = new EndpointStatistics("GET /readings/warnings");
+
+    /**
+     * Statistics of lamp edits.
+     */
+    private final EndpointStatistics lampStatistics = new EndpointStatistics("PATCH /lamps");
+
+    /**
+     * Settings of the run.
+     */
+    private final LoadSettings settings;
+
+    /**
+     * Base URI of the application, e.g. http://localhost:8080.
+     */
+    private final String baseUri;
+
+    /**
+     * Creates a harness for an application listening on a local port.
+     *
+     * @param settings The settings of the run.
+     * @param port     The port of the application.
+     */
+    private LoadHarness(LoadSettings settings, int port) {
+        this.settings = settings;
+        this.baseUri = "http://localhost:" + port;
+    }
+
+    /**
+     * Starts the server, reads the simulated users and devices it created, and runs the load.
+     *
+     * @param args Not used, settings are read from system properties.
+     * @throws Exception if the server cannot be started or the results cannot be written.
+     */
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        Path fixtureFile = Files.createTempDirectory("autolight-load").resolve("fixture");
+
+        Process server = new ProcessBuilder(serverCommand(settings, fixtureFile)).inheritIO().start();
+        try {
+            List<String> fixture = awaitFixture(server, fixtureFile);
+            LoadHarness harness = new LoadHarness(settings, Integer.parseInt(fixture.get(0).split(" ")[1]));
+
+            harness.run(readUsers(fixture));
+        } finally {
+            server.destroy();
+            if (!server.waitFor(SERVER_STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                server.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Builds the command starting the server JVM with the classpath of the harness.
+     * The benchmark.* properties are passed to the server, and so are the load.* properties,
+     * which tell it how many users and devices to create.
+     *
+     * @param settings    The settings of the run.
+     * @param fixtureFile The file the server publishes the simulated users and devices in.
+     * @return The command starting the server.
+     */
+    private static List<String> serverCommand(LoadSettings settings, Path fixtureFile) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (!settings.serverHeap().isEmpty()) {
+            command.add("-Xmx" + settings.serverHeap());
+        }
+        command.add("-classpath");
+        command.add(System.getProperty("java.class.path"));
+
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(LoadSettings.PROPERTY_PREFIX)
+                        || name.startsWith(BenchmarkApplication.PROPERTY_PREFIX))
+                .map(name -> "-D" + name + "=" + System.getProperty(name))
+                .forEach(command::add);
+        command.add("-D" + LoadServer.FIXTURE_FILE_PROPERTY + "=" + fixtureFile);
+
+        command.add(LoadServer.class.getName());
+        return command;
+    }
+
+    /**
+     * Waits until the server published its fixture.
+     *
+     * @param server      The server process.
+     * @param fixtureFile The file the server publishes the simulated users and devices in.
+     * @return The lines of the fixture, starting with the port of the server.
+     * @throws IOException          if the fixture cannot be read.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private static List<String> awaitFixture(Process server, Path fixtureFile)
+            throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SERVER_START_TIMEOUT_SECONDS);
+
+        while (!Files.exists(fixtureFile)) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("Server exited with code " + server.exitValue());
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Server did not start within " + SERVER_START_TIMEOUT_SECONDS + " s");
+            }
+            TimeUnit.MILLISECONDS.sleep(FIXTURE_POLL_MILLISECONDS);
+        }
+
+        return Files.readAllLines(fixtureFile);
+    }
+
+    /**
+     * Reads the simulated users and their devices from the fixture written by the {@link LoadServer}.
+     *
+     * @param fixture The lines of the fixture.
+     * @return The simulated users with their devices.
+     */
+    private static List<SimulatedUser> readUsers(List<String> fixture) {
+        Map<String, SimulatedUser> usersByLogin = new LinkedHashMap<>();
+
+        for (String line : fixture) {
+            String[] fields = line.split(" ");
+
+            switch (fields[0]) {
+                case "user" -> usersByLogin.put(fields[1], new SimulatedUser(fields[1], fields[2], new ArrayList<>()));
+                case "device" -> usersByLogin.get(fields[1]).devices()
+                        .add(new SimulatedDevice(Long.valueOf(fields[2]), fields[3]));
+                default -> {
+                    // The port line is read by the caller
+                }
+            }
+        }
+
+        return List.copyOf(usersByLogin.values());
+    }
+
+    /**
+     * Offers the load for the warm-up and the measurement, then prints the results.
+     *
+     * @param users The simulated users with their devices.
+     * @throws IOException          if the results cannot be written.
+     * @throws InterruptedException if interrupted while the load runs.
+     */
+    private void run(List<SimulatedUser> users) throws IOException, InterruptedException {
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+                Runtime.getRuntime().availableProcessors());
+
+        for (SimulatedUser user : users) {
+            for (SimulatedDevice device : user.devices()) {
+                schedule(scheduler, settings.readingsPerSecond(), () -> postReading(device));
+            }
+
+            if (!user.devices().isEmpty()) {
+                schedule(scheduler, settings.warningPollsPerSecond(), () -> pollWarnings(user));
+                schedule(scheduler, settings.lampEditsPerSecond(), () -> editLamp(user));
+            }
+        }
+
+        TimeUnit.SECONDS.sleep(settings.warmUpSeconds());
+        readingStatistics.reset();
+        warningStatistics.reset();
+        lampStatistics.reset();
+
+        TimeUnit.SECONDS.sleep(settings.durationSeconds());
+        scheduler.shutdownNow();
+        TimeUnit.SECONDS.sleep(DRAIN_SECONDS);
+
+        Files.createDirectories(settings.resultDirectory());
+        System.out.printf("%n%d devices at %.2f readings/s, %d users at %.2f warning polls/s and %.2f lamp edits/s%n",
+                settings.devices(), settings.readingsPerSecond(), settings.users(),
+                settings.warningPollsPerSecond(), settings.lampEditsPerSecond());
+        EndpointStatistics.printHeader(System.out);
+        for (EndpointStatistics statistics : List.of(readingStatistics, warningStatistics, lampStatistics)) {
+            statistics.report(System.out, settings.durationSeconds(), settings.resultDirectory());
+        }
+    }
+
+    /**
+     * Schedules a task at a fixed rate, starting at a random offset so tasks do not fire in bursts.
+     *
+     * @param scheduler The scheduler running the task.
+     * @param rate      The number of runs per second, no runs if not positive.
+     * @param task      The task.
+     */
+    private void schedule(ScheduledExecutorService scheduler, double rate, Runnable task) {
+        if (rate <= 0) {
+            return;
+        }
+
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        scheduler.scheduleAtFixedRate(task, ThreadLocalRandom.current().nextLong(periodNanos), periodNanos,
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Posts the next reading of a device, authenticated by its API key.
+     *
+     * @param device The device.
+     */
+    private void postReading(SimulatedDevice device) {
+        long readingNumber = device.readingNumbers().incrementAndGet();
+        String body = "{\"deviceId\":" + device.id() + ",\"name\":\"pulse\",\"value\":" + (60 + readingNumber % 40)
+                + ",\"isWarning\":false,\"clientReadingId\":\"" + device.id() + "-" + readingNumber + "\"}";
+
+        send(readingStatistics, HttpRequest.newBuilder(URI.create(baseUri + "/readings"))
+                .header("X-Device-Key", device.apiKey())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    /**
+     * Lists the warnings of a user.
+     *
+     * @param user The user.
+     */
+    private void pollWarnings(SimulatedUser user) {
+        send(warningStatistics, HttpRequest.newBuilder(URI.create(baseUri + "/readings/warnings/" + user.login()))
+                .header("Authorization", "Bearer " + user.token())
+                .GET());
+    }
+
+    /**
+     * Sets a random light level on the lamp of a random device of a user.
+     *
+     * @param user The user.
+     */
+    private void editLamp(SimulatedUser user) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        SimulatedDevice device = user.devices().get(random.nextInt(user.devices().size()));
+        String body = "{\"deviceId\":" + device.id() + ",\"name\":\"" + LoadServer.LAMP_NAME + "\",\"newValue\":"
+                + random.nextInt(101) + "}";
+
+        send(lampStatistics, HttpRequest.newBuilder(URI.create(baseUri + "/lamps"))
+                .header("Authorization", "Bearer " + user.token())
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    /**
+     * Sends a request without waiting for the response and records its outcome when it completes.
+     *
+     * @param statistics The statistics of the endpoint.
+     * @param request    The request to send.
+     */
+    private void send(EndpointStatistics statistics, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+
+        httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> statistics.record(System.nanoTime() - start,
+                        error == null && response.statusCode() < 400));
+    }
+
+    /**
+     * A simulated user.
+     *
+     * @param login   The login of the user.
+     * @param token   The token the user authenticates with.
+     * @param devices The devices of the user.
+     */
+    private record SimulatedUser(String login, String token, List<SimulatedDevice> devices) {
+    }
+
+    /**
+     * A simulated device.
+     *
+     * @param id             The ID of the device.
+     * @param apiKey         The API key the device authenticates with.
+     * @param readingNumbers Source of the numbers of the device's readings, used as client reading IDs.
+     */
+    private record SimulatedDevice(Long id, String apiKey, AtomicLong readingNumbers) {
+        /**
+         * Creates a device that has not posted any reading yet.
+         *
+         * @param id     The ID of the device.
+         * @param apiKey The API key the device authenticates with.
+         */
+        private SimulatedDevice(Long id, String apiKey) {
+            this(id, apiKey, new AtomicLong());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package ua.yehor.autolightbackend.benchmarks.load;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import ua.yehor.autolightbackend.apikey.DeviceApiKeyService;
+import ua.yehor.autolightbackend.benchmarks.BenchmarkApplication;
+import ua.yehor.autolightbackend.dto.AuthenticationRequestDto;
+import ua.yehor.autolightbackend.dto.DeviceDto;
+import ua.yehor.autolightbackend.dto.DeviceSummaryDto;
+import ua.yehor.autolightbackend.dto.LampDto;
+import ua.yehor.autolightbackend.model.Role;
+import ua.yehor.autolightbackend.service.AuthenticationService;
+import ua.yehor.autolightbackend.service.DeviceService;
+import ua.yehor.autolightbackend.service.LampService;
+import ua.yehor.autolightbackend.service.UserService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Application node driven by the {@link LoadHarness}, started by the harness in a JVM of its own,
+ * so the server and the simulated clients neither share heap, garbage collection nor CPU scheduling.
+ * <p>
+ * The node creates the simulated users and devices and writes them, with the port of its web server,
+ * to the fixture file named by the load.fixtureFile system property. It then serves requests until the harness
+ * stops the process, which closes the application context in its shutdown hook.
+ */
+public final class LoadServer {
+    /**
+     * System property holding the path of the fixture file.
+     */
+    static final String FIXTURE_FILE_PROPERTY = LoadSettings.PROPERTY_PREFIX + "fixtureFile";
+
+    /**
+     * Name of the lamp of every simulated device.
+     */
+    static final String LAMP_NAME = "main";
+
+    /**
+     * Password of every simulated user.
+     */
+    private static final String PASSWORD = "load-password";
+
+    /**
+     * Utility class, not instantiated.
+     */
+    private LoadServer() {
+    }
+
+    /**
+     * Starts the application, creates the simulated users and devices, and publishes them in the fixture file.
+     *
+     * @param args Not used, settings are read from system properties.
+     * @throws IOException if the fixture file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        Path fixtureFile = Path.of(System.getProperty(FIXTURE_FILE_PROPERTY));
+
+        ConfigurableApplicationContext context = BenchmarkApplication.startServer();
+
+        List<String> fixture = new ArrayList<>();
+        fixture.add("port " + BenchmarkApplication.getPort(context));
+        createUsers(context, settings, fixture);
+
+        // The harness polls for the file, so it must never see it half written
+        Path temporaryFile = Files.write(fixtureFile.resolveSibling(fixtureFile.getFileName() + ".tmp"), fixture);
+        Files.move(temporaryFile, fixtureFile, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Registers the simulated users and creates their devices, each with a lamp and an API key.
+     * Every user is written to the fixture as "user login token", every device as "device login id key".
+     *
+     * @param context  The application context.
+     * @param settings The settings of the run.
+     * @param fixture  The lines of the fixture file.
+     */
+    private static void createUsers(ConfigurableApplicationContext context, LoadSettings settings,
+                                    List<String> fixture) {
+        AuthenticationService authenticationService = context.getBean(AuthenticationService.class);
+        UserService userService = context.getBean(UserService.class);
+        DeviceService deviceService = context.getBean(DeviceService.class);
+        LampService lampService = context.getBean(LampService.class);
+        DeviceApiKeyService deviceApiKeyService = context.getBean(DeviceApiKeyService.class);
+
+        List<String> logins = new ArrayList<>();
+        for (int i = 0; i < settings.users(); i++) {
+            String login = "load-user-" + i;
+            String token = authenticationService.register(new AuthenticationRequestDto(login, PASSWORD)).token();
+            userService.addRoleToUser(login, Role.TECHNICIAN.name());
+
+            logins.add(login);
+            fixture.add("user " + login + " " + token);
+        }
+
+        for (int i = 0; i < settings.devices(); i++) {
+            String login = logins.get(i % logins.size());
+            String deviceName = "load-device-" + i;
+
+            Long deviceId = BenchmarkApplication.inRequestScope(context, () -> {
+                Long id = deviceService.saveDevice(new DeviceDto(login, deviceName)).stream()
+                        .filter(device -> device.name().equals(deviceName))
+                        .map(DeviceSummaryDto::id)
+                        .findFirst()
+                        .orElseThrow();
+                lampService.saveLamp(new LampDto(id, LAMP_NAME, 0));
+                return id;
+            });
+
+            fixture.add("device " + login + " " + deviceId + " " + deviceApiKeyService.createKey(deviceId).key());
+        }
+    }
+}
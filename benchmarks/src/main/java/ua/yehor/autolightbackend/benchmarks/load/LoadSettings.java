@@ -0,0 +1,55 @@
+package ua.yehor.autolightbackend.benchmarks.load;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of a load harness run, read from system properties prefixed with {@value #PROPERTY_PREFIX}.
+ * <p>
+ * Fields:
+ * - devices: Number of simulated devices posting readings.
+ * - users: Number of simulated users, owning the devices in turn.
+ * - readingsPerSecond: Rate of readings posted by every device.
+ * - warningPollsPerSecond: Rate of warning listings requested by every user.
+ * - lampEditsPerSecond: Rate of lamp edits made by every user.
+ * - warmUpSeconds: Duration of the load before measuring starts.
+ * - durationSeconds: Duration of the measured load.
+ * - resultDirectory: Directory the percentile distributions are written to.
+ * - serverHeap: Maximum heap size of the server JVM, empty for the JVM default.
+ */
+public record LoadSettings(int devices, int users, double readingsPerSecond, double warningPollsPerSecond,
+                           double lampEditsPerSecond, int warmUpSeconds, int durationSeconds, Path resultDirectory,
+                           String serverHeap) {
+    /**
+     * Prefix of the system properties holding the settings.
+     */
+    public static final String PROPERTY_PREFIX = "load.";
+
+    /**
+     * Reads the settings from system properties, using defaults for the missing ones.
+     *
+     * @return The settings of the run.
+     */
+    public static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Integer.parseInt(property("devices", "100")),
+                Integer.parseInt(property("users", "10")),
+                Double.parseDouble(property("readingsPerSecond", "1")),
+                Double.parseDouble(property("warningPollsPerSecond", "0.5")),
+                Double.parseDouble(property("lampEditsPerSecond", "0.2")),
+                Integer.parseInt(property("warmUpSeconds", "10")),
+                Integer.parseInt(property("durationSeconds", "60")),
+                Path.of(property("resultDirectory", "target/load-results")),
+                property("serverHeap", ""));
+    }
+
+    /**
+     * Reads a single setting.
+     *
+     * @param name         The name of the setting without the prefix.
+     * @param defaultValue The value used if the property is not set.
+     * @return The value of the setting.
+     */
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PROPERTY_PREFIX + name, defaultValue);
+    }
+}
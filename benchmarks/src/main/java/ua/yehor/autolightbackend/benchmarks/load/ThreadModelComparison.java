@@ -0,0 +1,88 @@
+package ua.yehor.autolightbackend.benchmarks.load;
+
+import ua.yehor.autolightbackend.benchmarks.BenchmarkApplication;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the {@link LoadHarness} twice with the same server heap size, first with request handling and background jobs
+ * on platform threads and then on virtual threads, so the results show the concurrency gained by virtual threads
+ * at a fixed amount of memory.
+ * Each run is a separate harness JVM starting its own server JVM, and only the server heap is limited;
+ * load.* and benchmark.* system properties are passed to both runs.
+ */
+public final class ThreadModelComparison {
+    /**
+     * System property holding the maximum heap size of the server of both runs.
+     */
+    private static final String HEAP_PROPERTY = "comparison.heap";
+
+    /**
+     * Load harness setting holding the maximum heap size of the server.
+     */
+    private static final String SERVER_HEAP_SETTING = LoadSettings.PROPERTY_PREFIX + "serverHeap";
+
+    /**
+     * Application property switching request handling and background jobs to virtual threads.
+     */
+    private static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+    /**
+     * Utility class, not instantiated.
+     */
+    private ThreadModelComparison() {
+    }
+
+    /**
+     * Runs the comparison.
+     *
+     * @param args Not used.
+     * @throws IOException          if a run cannot be started.
+     * @throws InterruptedException if interrupted while waiting for a run.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String heap = System.getProperty(HEAP_PROPERTY, "512m");
+
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            System.out.printf("%n=== %s threads, -Xmx%s ===%n", virtualThreads ? "Virtual" : "Platform", heap);
+
+            int exitCode = new ProcessBuilder(command(heap, virtualThreads)).inheritIO().start().waitFor();
+            if (exitCode != 0) {
+                throw new IllegalStateException("Load harness run failed with exit code " + exitCode);
+            }
+        }
+    }
+
+    /**
+     * Builds the command of one run.
+     *
+     * @param heap           The maximum heap size of the server.
+     * @param virtualThreads Whether the application runs on virtual threads.
+     * @return The command starting the load harness.
+     */
+    private static List<String> command(String heap, boolean virtualThreads) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-classpath");
+        command.add(System.getProperty("java.class.path"));
+
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(LoadSettings.PROPERTY_PREFIX)
+                        || name.startsWith(BenchmarkApplication.PROPERTY_PREFIX))
+                .filter(name -> !name.equals(BenchmarkApplication.PROPERTY_PREFIX + VIRTUAL_THREADS_PROPERTY)
+                        && !name.equals(LoadSettings.PROPERTY_PREFIX + "resultDirectory")
+                        && !name.equals(SERVER_HEAP_SETTING))
+                .map(name -> "-D" + name + "=" + System.getProperty(name))
+                .forEach(command::add);
+        command.add("-D" + SERVER_HEAP_SETTING + "=" + heap);
+        command.add("-D" + BenchmarkApplication.PROPERTY_PREFIX + VIRTUAL_THREADS_PROPERTY + "=" + virtualThreads);
+        command.add("-D" + LoadSettings.PROPERTY_PREFIX + "resultDirectory="
+                + Path.of("target", "load-results", virtualThreads ? "virtual" : "platform"));
+
+        command.add(LoadHarness.class.getName());
+        return command;
+    }
+}
@@ -0,0 +1,83 @@
+package ua.yehor.autolightbackend.apikey;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ua.yehor.autolightbackend.config.WebSocketConfig;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Filter authenticating devices by the API key sent in the {@value #DEVICE_KEY_HEADER} header.
+ * Keys are only accepted on reading ingestion and heartbeat endpoints and on the handshake of the device
+ * WebSocket channel; on any other request the header is ignored.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeviceApiKeyAuthenticationFilter extends OncePerRequestFilter {
+    /**
+     * Name of the header carrying the device API key.
+     */
+    public static final String DEVICE_KEY_HEADER = "X-Device-Key";
+
+    /**
+     * Paths of the reading ingestion endpoints.
+     */
+    private static final Set<String> READING_PATHS = Set.of("/readings", "/readings/async");
+
+    /**
+     * Pattern of the heartbeat endpoint path, capturing the device ID.
+     */
+    private static final Pattern HEARTBEAT_PATH = Pattern.compile("/devices/(\\d+)/heartbeat");
+
+    /**
+     * Service resolving API keys to devices.
+     */
+    private final DeviceApiKeyService deviceApiKeyService;
+
+    /**
+     * Filters incoming HTTP requests to perform API key authentication of devices.
+     *
+     * @param request     The incoming HTTP request
+     * @param response    The HTTP response
+     * @param filterChain The filter chain for continuing the request/response flow
+     * @throws ServletException If an exception occurs within the servlet
+     * @throws IOException      If an I/O exception occurs
+     */
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        final String key = request.getHeader(DEVICE_KEY_HEADER);
+
+        if (key != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            boolean post = HttpMethod.POST.matches(request.getMethod());
+            Matcher heartbeatMatcher = HEARTBEAT_PATH.matcher(path);
+            boolean heartbeatPath = post && heartbeatMatcher.matches();
+            boolean devicePath = post && READING_PATHS.contains(path)
+                    || HttpMethod.GET.matches(request.getMethod()) && WebSocketConfig.DEVICE_CHANNEL_PATH.equals(path);
+
+            if (devicePath || heartbeatPath) {
+                Long deviceId = deviceApiKeyService.authenticate(key);
+
+                // A heartbeat may only be sent by the device it is addressed to
+                if (deviceId != null
+                        && (devicePath || deviceId.toString().equals(heartbeatMatcher.group(1)))) {
+                    SecurityContextHolder.getContext().setAuthentication(new DeviceAuthenticationToken(deviceId));
+                }
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
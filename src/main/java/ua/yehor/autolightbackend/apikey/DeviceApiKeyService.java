@@ -0,0 +1,243 @@
+package ua.yehor.autolightbackend.apikey;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import ua.yehor.autolightbackend.dto.DeviceApiKeyDto;
+import ua.yehor.autolightbackend.event.DeviceKeysRevokedEvent;
+import ua.yehor.autolightbackend.model.DeviceApiKeyEntity;
+import ua.yehor.autolightbackend.model.DeviceEntity;
+import ua.yehor.autolightbackend.repository.DeviceApiKeyRepository;
+import ua.yehor.autolightbackend.service.DeviceService;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Service class responsible for device API keys.
+ * Hashes of all keys are held in memory, so authenticating a device is one hash computation
+ * and one map lookup without any database access.
+ * The index is periodically rebuilt from the database, so keys created or revoked on other nodes start or stop
+ * working within the reload interval. Unknown keys are never looked up in the database,
+ * so requests with made-up keys cannot put load on it.
+ * Writers hold a lock so a reload cannot drop a concurrent local change; lookups never lock.
+ */
+@Service
+@RequiredArgsConstructor
+public class DeviceApiKeyService {
+    /**
+     * Prefix of every generated key, making keys recognizable in configuration files.
+     */
+    private static final String KEY_PREFIX = "alk_";
+
+    /**
+     * Number of random bytes in a generated key.
+     */
+    private static final int KEY_BYTES = 32;
+
+    /**
+     * Number of key characters stored in plain form to tell keys apart.
+     */
+    private static final int VISIBLE_KEY_LENGTH = KEY_PREFIX.length() + 6;
+
+    /**
+     * Repository for managing DeviceApiKeyEntity objects.
+     */
+    private final DeviceApiKeyRepository deviceApiKeyRepository;
+
+    /**
+     * Service for device-related operations.
+     */
+    private final DeviceService deviceService;
+
+    /**
+     * Publisher of key revocation events.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Source of randomness for generated keys.
+     */
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * Device IDs keyed by the hash of their API keys.
+     */
+    private volatile Map<String, Long> deviceIdsByKeyHash = new ConcurrentHashMap<>();
+
+    /**
+     * Lock held by writers of the index.
+     */
+    private final Lock writeLock = new ReentrantLock();
+
+    /**
+     * Rebuilds the index from all stored keys, and publishes the revocation of keys no longer stored.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${deviceApiKeys.reloadIntervalInMilliseconds}",
+            initialDelayString = "${deviceApiKeys.reloadIntervalInMilliseconds}")
+    public void reload() {
+        Set<Long> revokedDeviceIds;
+
+        writeLock.lock();
+        try {
+            Map<String, Long> reloaded = new ConcurrentHashMap<>();
+            deviceApiKeyRepository.findAll().forEach(key -> reloaded.put(key.getKeyHash(), key.getDeviceId()));
+
+            revokedDeviceIds = deviceIdsByKeyHash.entrySet().stream()
+                    .filter(entry -> !reloaded.containsKey(entry.getKey()))
+                    .map(Map.Entry::getValue)
+                    .collect(Collectors.toSet());
+            deviceIdsByKeyHash = reloaded;
+        } finally {
+            writeLock.unlock();
+        }
+
+        revokedDeviceIds.forEach(deviceId -> eventPublisher.publishEvent(new DeviceKeysRevokedEvent(deviceId)));
+    }
+
+    /**
+     * Retrieves all API keys of a specific device.
+     *
+     * @param deviceId The ID of the device.
+     * @return A list of DeviceApiKeyEntity objects of the device.
+     */
+    public List<DeviceApiKeyEntity> getAllDeviceKeys(Long deviceId) {
+        return deviceApiKeyRepository.findAllByDeviceId(deviceId);
+    }
+
+    /**
+     * Generates a new API key for a device.
+     *
+     * @param deviceId The ID of the device.
+     * @return The DeviceApiKeyDto containing the plain key, which is not stored anywhere.
+     * @throws EntityNotFoundException if the device with the given ID is not found.
+     */
+    public DeviceApiKeyDto createKey(Long deviceId) {
+        DeviceEntity device = deviceService.getDeviceById(deviceId);
+
+        byte[] randomBytes = new byte[KEY_BYTES];
+        secureRandom.nextBytes(randomBytes);
+        String key = KEY_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+        String keyHash = hash(key);
+
+        DeviceApiKeyEntity apiKey = deviceApiKeyRepository.save(
+                new DeviceApiKeyEntity(device, keyHash, key.substring(0, VISIBLE_KEY_LENGTH)));
+        index(keyHash, device.getId());
+
+        return new DeviceApiKeyDto(apiKey.getId(), device.getId(), key);
+    }
+
+    /**
+     * Revokes an API key of a device and closes the channels of the device, which reconnects with its other keys.
+     *
+     * @param deviceId The ID of the device.
+     * @param keyId    The ID of the key.
+     * @throws EntityNotFoundException if the device has no key with the given ID.
+     */
+    public void revokeKey(Long deviceId, Long keyId) {
+        DeviceApiKeyEntity apiKey = deviceApiKeyRepository.findByIdAndDeviceId(keyId, deviceId)
+                .orElseThrow(EntityNotFoundException::new);
+
+        deviceApiKeyRepository.delete(apiKey);
+
+        writeLock.lock();
+        try {
+            deviceIdsByKeyHash.remove(apiKey.getKeyHash());
+        } finally {
+            writeLock.unlock();
+        }
+
+        eventPublisher.publishEvent(new DeviceKeysRevokedEvent(deviceId));
+    }
+
+    /**
+     * Resolves the device an API key belongs to, from the in-memory index only.
+     *
+     * @param key The plain key sent by a device.
+     * @return The ID of the device, or null if the key is unknown.
+     */
+    public Long authenticate(String key) {
+        return deviceIdsByKeyHash.get(hash(key));
+    }
+
+    /**
+     * Removes the keys of a deleted device from the in-memory index and closes the channels of the device.
+     *
+     * @param deviceId The ID of the device.
+     */
+    public void forgetDevice(Long deviceId) {
+        writeLock.lock();
+        try {
+            deviceIdsByKeyHash.values().removeIf(deviceId::equals);
+        } finally {
+            writeLock.unlock();
+        }
+
+        eventPublisher.publishEvent(new DeviceKeysRevokedEvent(deviceId));
+    }
+
+    /**
+     * Checks that a request authenticated by a device key only acts on behalf of that device.
+     * Requests authenticated as users are not restricted by this check.
+     *
+     * @param deviceId The ID of the device the request acts on.
+     * @throws AccessDeniedException if the request was authenticated with a key of another device.
+     */
+    public void checkDeviceScope(Long deviceId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication instanceof DeviceAuthenticationToken deviceAuthentication
+                && !deviceAuthentication.getPrincipal().equals(deviceId)) {
+            throw new AccessDeniedException("Device key is not valid for device " + deviceId);
+        }
+    }
+
+    /**
+     * Adds a key to the in-memory index.
+     *
+     * @param keyHash  The hash of the key.
+     * @param deviceId The ID of the device owning the key.
+     */
+    private void index(String keyHash, Long deviceId) {
+        writeLock.lock();
+        try {
+            deviceIdsByKeyHash.put(keyHash, deviceId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Computes the hex-encoded SHA-256 hash of a key.
+     *
+     * @param key The plain key.
+     * @return The hash of the key.
+     */
+    private String hash(String key) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
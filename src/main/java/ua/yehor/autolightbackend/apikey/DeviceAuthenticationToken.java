@@ -0,0 +1,53 @@
+package ua.yehor.autolightbackend.apikey;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Authentication of a device by its API key.
+ * The principal is the ID of the device; no user is involved.
+ */
+public class DeviceAuthenticationToken extends AbstractAuthenticationToken {
+    /**
+     * Authority granted to authenticated devices.
+     */
+    public static final String DEVICE_AUTHORITY = "DEVICE";
+
+    /**
+     * ID of the authenticated device.
+     */
+    private final Long deviceId;
+
+    /**
+     * Constructs an authenticated token for a device.
+     *
+     * @param deviceId The ID of the device.
+     */
+    public DeviceAuthenticationToken(Long deviceId) {
+        super(List.of(new SimpleGrantedAuthority(DEVICE_AUTHORITY)));
+        this.deviceId = deviceId;
+        setAuthenticated(true);
+    }
+
+    /**
+     * Devices authenticate with API keys only, so no credentials are kept.
+     *
+     * @return Always null.
+     */
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    /**
+     * Retrieves the ID of the authenticated device.
+     *
+     * @return The device ID.
+     */
+    @Override
+    public Long getPrincipal() {
+        return deviceId;
+    }
+}
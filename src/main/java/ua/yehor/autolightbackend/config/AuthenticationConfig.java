@@ -11,8 +11,12 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import ua.yehor.autolightbackend.jfr.UserLookupEvent;
+import ua.yehor.autolightbackend.model.UserEntity;
 import ua.yehor.autolightbackend.repository.UserRepository;
 
+import java.util.Optional;
+
 /**
  * Configuration class responsible for setting up authentication-related beans
  * such as UserDetailsService, PasswordEncoder, AuthenticationProvider, and AuthenticationManager.
@@ -32,8 +36,13 @@ public class AuthenticationConfig {
      */
     @Bean
     public UserDetailsService userDetailsService() {
-        return login -> userRepository.findByLogin(login)
-                .orElseThrow(() -> new UsernameNotFoundException("Cannot find user with this login"));
+        return login -> {
+            UserLookupEvent event = UserLookupEvent.start();
+            Optional<UserEntity> user = userRepository.findByLogin(login);
+            event.finish(login, user.isPresent());
+
+            return user.orElseThrow(() -> new UsernameNotFoundException("Cannot find user with this login"));
+        };
     }
 
     /**
@@ -0,0 +1,41 @@
+package ua.yehor.autolightbackend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuration class adding compact binary formats to content negotiation.
+ * Clients sending or accepting application/cbor or application/x-jackson-smile get the same documents as in JSON,
+ * encoded in binary; clients without such headers keep getting JSON.
+ * The converters use the mapper settings of the JSON converter, so all formats carry the same fields.
+ */
+@Configuration
+public class MessageConverterConfig {
+    /**
+     * Creates the CBOR converter, replacing the default one configured without the application mapper settings.
+     *
+     * @param builder the builder of mappers with the application settings
+     * @return MappingJackson2CborHttpMessageConverter reading and writing application/cbor
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Creates the Smile converter, replacing the default one configured without the application mapper settings.
+     * Smile refers back to field names already written, so lists of entities do not repeat them.
+     *
+     * @param builder the builder of mappers with the application settings
+     * @return MappingJackson2SmileHttpMessageConverter reading and writing application/x-jackson-smile
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
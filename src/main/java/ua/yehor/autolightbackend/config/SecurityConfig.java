@@ -1,5 +1,6 @@
 package ua.yehor.autolightbackend.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
@@ -16,6 +17,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
+import ua.yehor.autolightbackend.apikey.DeviceApiKeyAuthenticationFilter;
+import ua.yehor.autolightbackend.apikey.DeviceAuthenticationToken;
 import ua.yehor.autolightbackend.controller.CustomExceptionHandlerController;
 import ua.yehor.autolightbackend.jwt.JwtAuthenticationFilter;
 
@@ -35,6 +38,11 @@ public class SecurityConfig {
      */
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    /**
+     * Filter responsible for API key authentication of devices.
+     */
+    private final DeviceApiKeyAuthenticationFilter deviceApiKeyAuthenticationFilter;
+
     /**
      * Provider responsible for authenticating users based on custom configurations.
      */
@@ -54,7 +62,8 @@ public class SecurityConfig {
         config.setAllowedHeaders(Arrays.asList(
                 HttpHeaders.AUTHORIZATION,
                 HttpHeaders.CONTENT_TYPE,
-                HttpHeaders.ACCEPT
+                HttpHeaders.ACCEPT,
+                DeviceApiKeyAuthenticationFilter.DEVICE_KEY_HEADER
         ));
         config.setAllowedMethods(Arrays.asList(
                 HttpMethod.GET.name(),
@@ -83,10 +92,20 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(authorization -> authorization
+                        // Authorized on the original request; the stateless filters do not authenticate redispatches
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**",
                                 "/register", "/login").permitAll()
-                        .requestMatchers("/users/**").hasAuthority("ADMIN")
-                        .requestMatchers("/devices/**", "/lamps/**").hasAuthority("TECHNICIAN")
+                        // Served only on the management port, bound to an internal interface for the monitoring system
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/users/**", "/admin/**").hasAuthority("ADMIN")
+                        // Only a device may report itself alive; its key is checked against the path
+                        .requestMatchers(HttpMethod.POST, "/devices/*/heartbeat")
+                        .hasAuthority(DeviceAuthenticationToken.DEVICE_AUTHORITY)
+                        .requestMatchers(HttpMethod.GET, WebSocketConfig.DEVICE_CHANNEL_PATH)
+                        .hasAuthority(DeviceAuthenticationToken.DEVICE_AUTHORITY)
+                        .requestMatchers("/devices/**", "/lamps/**", "/automation-rules/**",
+                                "/threshold-profiles/**").hasAuthority("TECHNICIAN")
                         .anyRequest().authenticated())
                 .sessionManagement(management -> management
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -94,6 +113,8 @@ public class SecurityConfig {
                 .exceptionHandling(httpSecurityExceptionHandlingConfigurer -> httpSecurityExceptionHandlingConfigurer
                         .authenticationEntryPoint(exceptionHandlerController)
                         .accessDeniedHandler(exceptionHandlerController))
+                // Device keys are checked first, so ingestion requests carrying one skip user authentication
+                .addFilterBefore(deviceApiKeyAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
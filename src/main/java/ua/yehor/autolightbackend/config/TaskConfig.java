@@ -0,0 +1,43 @@
+package ua.yehor.autolightbackend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration class enabling background tasks such as periodic flushes of buffered data
+ * and long-running batch jobs.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class TaskConfig {
+    /**
+     * Creates a bounded executor for background batch jobs.
+     * Jobs beyond the queue capacity are rejected instead of piling up in memory.
+     * With virtual threads enabled, jobs run on virtual threads, still bounded by the pool size.
+     *
+     * @param poolSize       the number of jobs running at the same time
+     * @param queueCapacity  the number of jobs waiting to run
+     * @param virtualThreads whether jobs run on virtual threads
+     * @return TaskExecutor running background jobs
+     */
+    @Bean
+    public TaskExecutor backgroundJobExecutor(@Value("${backgroundJobs.poolSize}") int poolSize,
+                                              @Value("${backgroundJobs.queueCapacity}") int queueCapacity,
+                                              @Value("${spring.threads.virtual.enabled}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("background-job-");
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name("background-job-", 0).factory());
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,66 @@
+package ua.yehor.autolightbackend.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+import ua.yehor.autolightbackend.websocket.DeviceChannelHandler;
+import ua.yehor.autolightbackend.websocket.DeviceHandshakeInterceptor;
+
+/**
+ * Configuration class exposing the WebSocket channel of devices at {@value #DEVICE_CHANNEL_PATH}.
+ * Applied only when the application runs in a servlet container, which provides the WebSocket container.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+    /**
+     * Path of the WebSocket channel of devices.
+     */
+    public static final String DEVICE_CHANNEL_PATH = "/ws/devices";
+
+    /**
+     * Handler of device channels.
+     */
+    private final DeviceChannelHandler deviceChannelHandler;
+
+    /**
+     * Interceptor binding channels to the authenticated device.
+     */
+    private final DeviceHandshakeInterceptor deviceHandshakeInterceptor;
+
+    /**
+     * Registers the device channel handler.
+     *
+     * @param registry The registry of WebSocket handlers.
+     */
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(deviceChannelHandler, DEVICE_CHANNEL_PATH)
+                .addInterceptors(deviceHandshakeInterceptor);
+    }
+
+    /**
+     * Limits the frame size and the idle time of WebSocket sessions.
+     *
+     * @param maxFrameSize            the maximum size of a received frame in bytes
+     * @param idleTimeoutMilliseconds the time after which a silent session is closed
+     * @return ServletServerContainerFactoryBean configuring the WebSocket container
+     */
+    @Bean
+    public ServletServerContainerFactoryBean webSocketContainer(
+            @Value("${deviceChannel.maxFrameSize}") int maxFrameSize,
+            @Value("${deviceChannel.idleTimeoutInMilliseconds}") long idleTimeoutMilliseconds) {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(maxFrameSize);
+        container.setMaxSessionIdleTimeout(idleTimeoutMilliseconds);
+        return container;
+    }
+}
@@ -0,0 +1,36 @@
+package ua.yehor.autolightbackend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ua.yehor.autolightbackend.model.AlertEntity;
+import ua.yehor.autolightbackend.service.AlertService;
+
+import java.util.List;
+
+/**
+ * Controller managing endpoints related to alerts.
+ */
+@RestController
+@RequestMapping("/alerts")
+@RequiredArgsConstructor
+public class AlertController {
+    /**
+     * Service handling alert-related operations.
+     */
+    private final AlertService alertService;
+
+    /**
+     * Retrieves all alerts raised for the devices of a specific user.
+     *
+     * @param userLogin User login ID
+     * @return ResponseEntity containing a list of AlertEntity, newest first
+     */
+    @GetMapping("/{userLogin}")
+    public ResponseEntity<List<AlertEntity>> getAllUserAlerts(@PathVariable String userLogin) {
+        return ResponseEntity.ok(alertService.getAllUserAlerts(userLogin));
+    }
+}
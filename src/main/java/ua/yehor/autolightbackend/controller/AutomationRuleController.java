@@ -0,0 +1,58 @@
+package ua.yehor.autolightbackend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ua.yehor.autolightbackend.dto.AutomationRuleDto;
+import ua.yehor.autolightbackend.model.AutomationRuleEntity;
+import ua.yehor.autolightbackend.service.AutomationService;
+
+import java.util.List;
+
+/**
+ * Controller managing automation rules that adjust lamps based on readings.
+ */
+@RestController
+@RequestMapping("/automation-rules")
+@RequiredArgsConstructor
+public class AutomationRuleController {
+    /**
+     * Service handling automation-related operations.
+     */
+    private final AutomationService automationService;
+
+    /**
+     * Retrieves all automation rules of a particular device.
+     *
+     * @param deviceId Device ID
+     * @return ResponseEntity containing a list of AutomationRuleEntity of the device
+     */
+    @GetMapping("/{deviceId}")
+    public ResponseEntity<List<AutomationRuleEntity>> getAllDeviceRules(@PathVariable Long deviceId) {
+        return ResponseEntity.ok(automationService.getAllDeviceRules(deviceId));
+    }
+
+    /**
+     * Saves a new automation rule.
+     *
+     * @param automationRuleDto Rule information to be saved
+     * @return ResponseEntity containing all rules of the device and HTTP status CREATED
+     */
+    @PostMapping
+    public ResponseEntity<List<AutomationRuleEntity>> saveRule(@RequestBody AutomationRuleDto automationRuleDto) {
+        return new ResponseEntity<>(automationService.saveRule(automationRuleDto), HttpStatus.CREATED);
+    }
+
+    /**
+     * Deletes an automation rule.
+     *
+     * @param ruleId Rule ID
+     * @return ResponseEntity with no content and HTTP status NO_CONTENT
+     */
+    @DeleteMapping("/{ruleId}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long ruleId) {
+        automationService.deleteRule(ruleId);
+        return ResponseEntity.noContent().build();
+    }
+}
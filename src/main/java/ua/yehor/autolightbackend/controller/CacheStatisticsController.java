@@ -0,0 +1,34 @@
+package ua.yehor.autolightbackend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ua.yehor.autolightbackend.dto.CacheRegionStatisticsDto;
+import ua.yehor.autolightbackend.service.CacheStatisticsService;
+
+import java.util.List;
+
+/**
+ * Controller exposing cache statistics to administrators.
+ */
+@RestController
+@RequestMapping("/admin/cache-statistics")
+@RequiredArgsConstructor
+public class CacheStatisticsController {
+    /**
+     * Service reading cache statistics.
+     */
+    private final CacheStatisticsService cacheStatisticsService;
+
+    /**
+     * Retrieves the statistics of all second-level cache regions.
+     *
+     * @return ResponseEntity containing a list of CacheRegionStatisticsDto
+     */
+    @GetMapping
+    public ResponseEntity<List<CacheRegionStatisticsDto>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getCacheStatistics());
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
@@ -18,7 +19,13 @@ import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestController;
+import ua.yehor.autolightbackend.exception.IngestionOverloadedException;
+import ua.yehor.autolightbackend.exception.InvalidAutomationRuleException;
+import ua.yehor.autolightbackend.exception.InvalidSortException;
+import ua.yehor.autolightbackend.exception.QueryBudgetExceededException;
+import ua.yehor.autolightbackend.exception.ReadingInProgressException;
 import ua.yehor.autolightbackend.exception.RoleAlreadyExistsException;
+import ua.yehor.autolightbackend.exception.VersionMismatchException;
 
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -150,4 +157,81 @@ public class CustomExceptionHandlerController implements AuthenticationEntryPoin
         String errorMessage = getMessageSourceAccessor().getMessage("error.role_exists");
         return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
     }
+
+    /**
+     * Handles VersionMismatchException by providing a precondition failed response.
+     *
+     * @return ResponseEntity containing the error message and HTTP status PRECONDITION_FAILED
+     */
+    @ExceptionHandler(VersionMismatchException.class)
+    public ResponseEntity<String> handleVersionMismatch() {
+        String errorMessage = getMessageSourceAccessor().getMessage("error.version_mismatch");
+        return new ResponseEntity<>(errorMessage, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Handles OptimisticLockingFailureException, raised when concurrent updates kept conflicting.
+     *
+     * @return ResponseEntity containing the error message and HTTP status CONFLICT
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleConcurrentUpdate() {
+        String errorMessage = getMessageSourceAccessor().getMessage("error.concurrent_update");
+        return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles QueryBudgetExceededException, raised in the strict query budget mode.
+     *
+     * @return ResponseEntity containing the error message and HTTP status INTERNAL_SERVER_ERROR
+     */
+    @ExceptionHandler(QueryBudgetExceededException.class)
+    public ResponseEntity<String> handleQueryBudgetExceeded() {
+        String errorMessage = getMessageSourceAccessor().getMessage("error.query_budget_exceeded");
+        return new ResponseEntity<>(errorMessage, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    /**
+     * Handles IngestionOverloadedException, raised when the asynchronous reading queue is full.
+     *
+     * @return ResponseEntity containing the error message and HTTP status SERVICE_UNAVAILABLE
+     */
+    @ExceptionHandler(IngestionOverloadedException.class)
+    public ResponseEntity<String> handleIngestionOverloaded() {
+        String errorMessage = getMessageSourceAccessor().getMessage("error.ingestion_overloaded");
+        return new ResponseEntity<>(errorMessage, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles ReadingInProgressException, raised when a retried reading is still being saved.
+     *
+     * @return ResponseEntity containing the error message and HTTP status CONFLICT
+     */
+    @ExceptionHandler(ReadingInProgressException.class)
+    public ResponseEntity<String> handleReadingInProgress() {
+        String errorMessage = getMessageSourceAccessor().getMessage("error.reading_in_progress");
+        return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles InvalidAutomationRuleException, raised when a rule is saved without one of its required parts.
+     *
+     * @return ResponseEntity containing the error message and HTTP status BAD_REQUEST
+     */
+    @ExceptionHandler(InvalidAutomationRuleException.class)
+    public ResponseEntity<String> handleInvalidAutomationRule() {
+        String errorMessage = getMessageSourceAccessor().getMessage("error.invalid_automation_rule");
+        return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvalidSortException, raised when a listing is sorted by a property it cannot be sorted by.
+     *
+     * @return ResponseEntity containing the error message and HTTP status BAD_REQUEST
+     */
+    @ExceptionHandler(InvalidSortException.class)
+    public ResponseEntity<String> handleInvalidSort() {
+        String errorMessage = getMessageSourceAccessor().getMessage("error.invalid_sort");
+        return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
+    }
 }
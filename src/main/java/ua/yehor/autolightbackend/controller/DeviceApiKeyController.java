@@ -0,0 +1,59 @@
+package ua.yehor.autolightbackend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ua.yehor.autolightbackend.apikey.DeviceApiKeyService;
+import ua.yehor.autolightbackend.dto.DeviceApiKeyDto;
+import ua.yehor.autolightbackend.model.DeviceApiKeyEntity;
+
+import java.util.List;
+
+/**
+ * Controller managing API keys devices use to authenticate themselves.
+ */
+@RestController
+@RequestMapping("/devices/{deviceId}/api-keys")
+@RequiredArgsConstructor
+public class DeviceApiKeyController {
+    /**
+     * Service handling device API key operations.
+     */
+    private final DeviceApiKeyService deviceApiKeyService;
+
+    /**
+     * Retrieves all API keys of a particular device, without the keys themselves.
+     *
+     * @param deviceId Device ID
+     * @return ResponseEntity containing a list of DeviceApiKeyEntity of the device
+     */
+    @GetMapping
+    public ResponseEntity<List<DeviceApiKeyEntity>> getAllDeviceKeys(@PathVariable Long deviceId) {
+        return ResponseEntity.ok(deviceApiKeyService.getAllDeviceKeys(deviceId));
+    }
+
+    /**
+     * Generates a new API key for a device.
+     *
+     * @param deviceId Device ID
+     * @return ResponseEntity containing the DeviceApiKeyDto with the plain key and HTTP status CREATED
+     */
+    @PostMapping
+    public ResponseEntity<DeviceApiKeyDto> createKey(@PathVariable Long deviceId) {
+        return new ResponseEntity<>(deviceApiKeyService.createKey(deviceId), HttpStatus.CREATED);
+    }
+
+    /**
+     * Revokes an API key of a device.
+     *
+     * @param deviceId Device ID
+     * @param keyId    API key ID
+     * @return ResponseEntity with no content and HTTP status NO_CONTENT
+     */
+    @DeleteMapping("/{keyId}")
+    public ResponseEntity<Void> revokeKey(@PathVariable Long deviceId, @PathVariable Long keyId) {
+        deviceApiKeyService.revokeKey(deviceId, keyId);
+        return ResponseEntity.noContent().build();
+    }
+}
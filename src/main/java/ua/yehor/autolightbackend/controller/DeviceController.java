@@ -1,16 +1,24 @@
 package ua.yehor.autolightbackend.controller;
 
+import com.opencsv.exceptions.CsvValidationException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import ua.yehor.autolightbackend.dto.DeletionDeviceDto;
 import ua.yehor.autolightbackend.dto.DeviceDto;
-import ua.yehor.autolightbackend.model.DeviceEntity;
+import ua.yehor.autolightbackend.dto.DeviceProvisioningResultDto;
+import ua.yehor.autolightbackend.dto.DeviceStatusDto;
+import ua.yehor.autolightbackend.dto.DeviceSummaryDto;
+import ua.yehor.autolightbackend.service.DeviceDeletionService;
+import ua.yehor.autolightbackend.service.DevicePresenceTracker;
+import ua.yehor.autolightbackend.service.DeviceProvisioningService;
 import ua.yehor.autolightbackend.service.DeviceService;
 
+import java.io.IOException;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Controller handling device-related endpoints.
@@ -24,38 +32,113 @@ public class DeviceController {
      */
     private final DeviceService deviceService;
 
+    /**
+     * Tracker of device presence.
+     */
+    private final DevicePresenceTracker devicePresenceTracker;
+
+    /**
+     * Service responsible for bulk device provisioning.
+     */
+    private final DeviceProvisioningService deviceProvisioningService;
+
+    /**
+     * Service responsible for set-based device deletion.
+     */
+    private final DeviceDeletionService deviceDeletionService;
+
     /**
      * Retrieves all devices associated with a particular user.
      *
      * @param userLogin User login ID
-     * @return ResponseEntity containing a list of DeviceEntity associated with the user
+     * @return ResponseEntity containing a list of DeviceSummaryDto of the user's devices
      */
     @GetMapping("/{userLogin}")
-    public ResponseEntity<List<DeviceEntity>> getAllUserDevices(@PathVariable String userLogin) {
-        return ResponseEntity.ok(deviceService.getAllDevicesByUserLogin(userLogin));
+    public ResponseEntity<List<DeviceSummaryDto>> getAllUserDevices(@PathVariable String userLogin) {
+        return ResponseEntity.ok(deviceService.getAllDeviceSummariesByUserLogin(userLogin));
+    }
+
+    /**
+     * Retrieves the online status of all recently active devices.
+     * The response is served from memory without database access.
+     *
+     * @return ResponseEntity containing a list of DeviceStatusDto
+     */
+    @GetMapping("/status")
+    public ResponseEntity<List<DeviceStatusDto>> getAllDeviceStatuses() {
+        return ResponseEntity.ok(devicePresenceTracker.getStatuses());
+    }
+
+    /**
+     * Records a heartbeat of a device.
+     * Only accepted with the API key of the device itself, so users cannot mark devices online.
+     *
+     * @param deviceId Device ID
+     * @return ResponseEntity with no content and HTTP status NO_CONTENT
+     */
+    @PostMapping("/{deviceId}/heartbeat")
+    public ResponseEntity<Void> heartbeat(@PathVariable Long deviceId) {
+        devicePresenceTracker.recordActivity(deviceId);
+        return ResponseEntity.noContent().build();
     }
 
     /**
      * Saves a new device.
      *
      * @param deviceDto Device information to be saved
-     * @return ResponseEntity containing a set of all DeviceEntity corresponding to user
+     * @return ResponseEntity containing a list of DeviceSummaryDto of the user's devices
      * and HTTP status CREATED
      */
     @PostMapping
-    public ResponseEntity<Set<DeviceEntity>> saveDevice(@RequestBody DeviceDto deviceDto) {
+    public ResponseEntity<List<DeviceSummaryDto>> saveDevice(@RequestBody DeviceDto deviceDto) {
         return new ResponseEntity<>(deviceService.saveDevice(deviceDto), HttpStatus.CREATED);
     }
 
+    /**
+     * Provisions many devices at once from a JSON list.
+     *
+     * @param devices Devices to be created
+     * @return ResponseEntity containing the result of every row
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<DeviceProvisioningResultDto>> provisionDevices(@RequestBody List<DeviceDto> devices) {
+        return ResponseEntity.ok(deviceProvisioningService.provisionDevices(devices));
+    }
+
+    /**
+     * Provisions many devices at once from a CSV file with the columns user login and device name.
+     *
+     * @param file The CSV file describing the devices
+     * @return ResponseEntity containing the result of every row
+     * @throws CsvValidationException If the CSV file doesn't adhere to CSV format
+     * @throws IOException            If an I/O exception occurs while processing the file
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<List<DeviceProvisioningResultDto>> provisionDevicesFromCsv(@RequestParam MultipartFile file)
+            throws CsvValidationException, IOException {
+        return ResponseEntity.ok(deviceProvisioningService.provisionDevicesFromCsv(file));
+    }
+
     /**
      * Deletes a device from a user's list of devices.
+     * With async set, the deletion runs as a background job and the request returns immediately.
      *
      * @param deletionDeviceDto Information about the device to be deleted from the user
-     * @return ResponseEntity with no content and HTTP status NO_CONTENT
+     * @param async             Whether the device is deleted in the background
+     * @return ResponseEntity containing a list of DeviceSummaryDto of the user's remaining devices,
+     * or an empty ResponseEntity with HTTP status ACCEPTED for background deletion
      */
     @DeleteMapping
-    public ResponseEntity<List<DeviceEntity>> deleteDeviceFromUser(@RequestBody DeletionDeviceDto deletionDeviceDto) {
-        deviceService.deleteDeviceFromUser(deletionDeviceDto);
-        return ResponseEntity.ok(deviceService.getAllDevicesByUserLogin(deletionDeviceDto.userLogin()));
+    public ResponseEntity<List<DeviceSummaryDto>> deleteDeviceFromUser(@RequestBody DeletionDeviceDto deletionDeviceDto,
+                                                                       @RequestParam(defaultValue = "false") boolean async) {
+        Long deviceId = deviceDeletionService.getDeviceId(deletionDeviceDto);
+
+        if (async) {
+            deviceDeletionService.deleteDeviceInBackground(deviceId);
+            return ResponseEntity.accepted().build();
+        }
+
+        deviceDeletionService.deleteDevice(deviceId);
+        return ResponseEntity.ok(deviceService.getAllDeviceSummariesByUserLogin(deletionDeviceDto.userLogin()));
     }
 }
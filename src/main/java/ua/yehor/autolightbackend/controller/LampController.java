@@ -1,15 +1,23 @@
 package ua.yehor.autolightbackend.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ua.yehor.autolightbackend.dto.DeletionLampDto;
 import ua.yehor.autolightbackend.dto.LampDto;
 import ua.yehor.autolightbackend.dto.LampEditingDto;
+import ua.yehor.autolightbackend.exception.VersionMismatchException;
+import ua.yehor.autolightbackend.model.LampDailyAverageEntity;
 import ua.yehor.autolightbackend.model.LampEntity;
+import ua.yehor.autolightbackend.model.LampStateEntity;
+import ua.yehor.autolightbackend.service.LampHistoryService;
 import ua.yehor.autolightbackend.service.LampService;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
@@ -26,6 +34,11 @@ public class LampController {
      */
     private final LampService lampService;
 
+    /**
+     * Service providing the light level history of lamps.
+     */
+    private final LampHistoryService lampHistoryService;
+
     /**
      * Endpoint to retrieve all lamps.
      *
@@ -47,6 +60,51 @@ public class LampController {
         return ResponseEntity.ok(lampService.getAllDeviceLamps(deviceId));
     }
 
+    /**
+     * Endpoint to retrieve a single lamp of a device, with its version as the ETag.
+     *
+     * @param deviceId The ID of the device
+     * @param name     The name of the lamp
+     * @return ResponseEntity containing the lamp
+     */
+    @GetMapping("/{deviceId}/{name}")
+    public ResponseEntity<LampEntity> getDeviceLamp(@PathVariable Long deviceId, @PathVariable String name) {
+        LampEntity lamp = lampService.getDeviceLamp(deviceId, name);
+        return ResponseEntity.ok().eTag(toETag(lamp)).body(lamp);
+    }
+
+    /**
+     * Endpoint to retrieve the light level changes of a lamp within a time range.
+     *
+     * @param lampId The ID of the lamp
+     * @param from   The start of the time range
+     * @param to     The end of the time range
+     * @return ResponseEntity containing the list of lamp states ordered by change time
+     */
+    @GetMapping("/history/{lampId}")
+    public ResponseEntity<List<LampStateEntity>> getLampHistory(
+            @PathVariable Long lampId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(lampHistoryService.getLampHistory(lampId, from, to));
+    }
+
+    /**
+     * Endpoint to retrieve the time-weighted average light level of a lamp per day.
+     *
+     * @param lampId The ID of the lamp
+     * @param from   The first day of the range
+     * @param to     The last day of the range
+     * @return ResponseEntity containing the list of daily averages ordered by day
+     */
+    @GetMapping("/averages/{lampId}")
+    public ResponseEntity<List<LampDailyAverageEntity>> getLampDailyAverages(
+            @PathVariable Long lampId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(lampHistoryService.getLampDailyAverages(lampId, from, to));
+    }
+
     /**
      * Endpoint to add a new lamp to a device.
      *
@@ -60,25 +118,68 @@ public class LampController {
 
     /**
      * Endpoint to change the light level of a lamp.
+     * With an If-Match header, the change is only applied if the lamp still has that version.
      *
      * @param lampEditingDto The LampEditingDto object representing the changes
-     * @return ResponseEntity containing the set of lamps after the light level change
+     * @param ifMatch        The ETag of the lamp as last read by the client, optional
+     * @return ResponseEntity containing the edited lamp, with its new version as the ETag
      */
     @PatchMapping
-    public ResponseEntity<Set<LampEntity>> changeLightLevelOfLamp(@RequestBody LampEditingDto lampEditingDto) {
-        System.out.println(lampEditingDto);
-        return new ResponseEntity<>(lampService.editLamp(lampEditingDto), HttpStatus.CREATED);
+    public ResponseEntity<LampEntity> changeLightLevelOfLamp(
+            @RequestBody LampEditingDto lampEditingDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        LampEntity lamp = lampService.editLamp(lampEditingDto, parseIfMatch(ifMatch));
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(toETag(lamp)).body(lamp);
     }
 
     /**
      * Endpoint to remove a lamp from a device.
+     * With an If-Match header, the lamp is only removed if it still has that version.
      *
      * @param deletionLampDto The DeletionLampDto object representing the lamp to be removed
+     * @param ifMatch         The ETag of the lamp as last read by the client, optional
      * @return ResponseEntity indicating the success of the removal operation
      */
     @DeleteMapping
-    public ResponseEntity<Set<LampEntity>> removeLampFromDevice(@RequestBody DeletionLampDto deletionLampDto) {
-        lampService.removeLampFromDevice(deletionLampDto);
+    public ResponseEntity<Set<LampEntity>> removeLampFromDevice(
+            @RequestBody DeletionLampDto deletionLampDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        lampService.removeLampFromDevice(deletionLampDto, parseIfMatch(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Builds the ETag of a lamp from its version.
+     *
+     * @param lamp The lamp
+     * @return The quoted version of the lamp
+     */
+    private static String toETag(LampEntity lamp) {
+        return "\"" + lamp.getVersion() + '"';
+    }
+
+    /**
+     * Parses the lamp version from an If-Match header.
+     * If-Match uses strong comparison, so weak and unrecognized tags never match.
+     *
+     * @param ifMatch The If-Match header, or null if absent
+     * @return The expected lamp version, or null if any version is accepted
+     * @throws VersionMismatchException if the tag cannot match any lamp version
+     */
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.strip();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new VersionMismatchException("Unsupported entity tag " + ifMatch);
+        }
+
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new VersionMismatchException("Unsupported entity tag " + ifMatch);
+        }
+    }
 }
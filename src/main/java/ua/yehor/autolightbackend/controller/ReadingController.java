@@ -4,11 +4,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ua.yehor.autolightbackend.apikey.DeviceApiKeyService;
 import ua.yehor.autolightbackend.dto.ReadingDto;
 import ua.yehor.autolightbackend.model.ReadingEntity;
+import ua.yehor.autolightbackend.service.ReadingBatchWriter;
 import ua.yehor.autolightbackend.service.ReadingService;
 
-import java.util.Set;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller managing endpoints related to readings.
@@ -22,14 +25,24 @@ public class ReadingController {
      */
     private final ReadingService readingService;
 
+    /**
+     * Writer saving readings submitted asynchronously.
+     */
+    private final ReadingBatchWriter readingBatchWriter;
+
+    /**
+     * Service restricting device keys to their own device.
+     */
+    private final DeviceApiKeyService deviceApiKeyService;
+
     /**
      * Retrieves all readings associated with a particular device.
      *
      * @param deviceId Device ID
-     * @return ResponseEntity containing a set of ReadingEntity associated with the device
+     * @return ResponseEntity containing a list of ReadingEntity of the device ordered by measurement time
      */
     @GetMapping("/{deviceId}")
-    public ResponseEntity<Set<ReadingEntity>> getAllDeviceReadings(@PathVariable Long deviceId) {
+    public ResponseEntity<List<ReadingEntity>> getAllDeviceReadings(@PathVariable Long deviceId) {
         return ResponseEntity.ok(readingService.getAllDeviceReadings(deviceId));
     }
 
@@ -37,10 +50,10 @@ public class ReadingController {
      * Retrieves all warnings associated with a specific user.
      *
      * @param userLogin User login ID
-     * @return ResponseEntity containing a set of ReadingEntity representing user warnings
+     * @return ResponseEntity containing a list of ReadingEntity representing user warnings, newest first
      */
     @GetMapping("/warnings/{userLogin}")
-    public ResponseEntity<Set<ReadingEntity>> getAllUserWarnings(@PathVariable String userLogin) {
+    public ResponseEntity<List<ReadingEntity>> getAllUserWarnings(@PathVariable String userLogin) {
         return ResponseEntity.ok(readingService.getAllUserWarnings(userLogin));
     }
 
@@ -48,10 +61,25 @@ public class ReadingController {
      * Saves a new reading.
      *
      * @param readingDto Reading information to be saved
-     * @return ResponseEntity containing a set of saved ReadingEntity and HTTP status CREATED
+     * @return ResponseEntity containing the saved ReadingEntity and HTTP status CREATED
      */
     @PostMapping
-    public ResponseEntity<Set<ReadingEntity>> saveReading(@RequestBody ReadingDto readingDto) {
+    public ResponseEntity<ReadingEntity> saveReading(@RequestBody ReadingDto readingDto) {
+        deviceApiKeyService.checkDeviceScope(readingDto.deviceId());
         return new ResponseEntity<>(readingService.saveReading(readingDto), HttpStatus.CREATED);
     }
+
+    /**
+     * Saves a new reading without holding a request thread until it is written.
+     * The reading is queued and the response is sent once a writer thread has saved it.
+     *
+     * @param readingDto Reading information to be saved
+     * @return Future of the ResponseEntity containing the saved ReadingEntity and HTTP status CREATED
+     */
+    @PostMapping("/async")
+    public CompletableFuture<ResponseEntity<ReadingEntity>> saveReadingAsync(@RequestBody ReadingDto readingDto) {
+        deviceApiKeyService.checkDeviceScope(readingDto.deviceId());
+        return readingBatchWriter.submit(readingDto)
+                .thenApply(reading -> new ResponseEntity<>(reading, HttpStatus.CREATED));
+    }
 }
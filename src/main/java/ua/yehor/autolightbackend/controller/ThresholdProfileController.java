@@ -0,0 +1,59 @@
+package ua.yehor.autolightbackend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ua.yehor.autolightbackend.dto.ThresholdProfileDto;
+import ua.yehor.autolightbackend.model.ThresholdProfileEntity;
+import ua.yehor.autolightbackend.service.ThresholdProfileService;
+
+import java.util.List;
+
+/**
+ * Controller managing threshold profiles used to classify readings as warnings.
+ */
+@RestController
+@RequestMapping("/threshold-profiles")
+@RequiredArgsConstructor
+public class ThresholdProfileController {
+    /**
+     * Service handling threshold profile operations.
+     */
+    private final ThresholdProfileService thresholdProfileService;
+
+    /**
+     * Retrieves all threshold profiles of a particular user.
+     *
+     * @param userLogin User login ID
+     * @return ResponseEntity containing a list of ThresholdProfileEntity of the user
+     */
+    @GetMapping("/{userLogin}")
+    public ResponseEntity<List<ThresholdProfileEntity>> getAllUserProfiles(@PathVariable String userLogin) {
+        return ResponseEntity.ok(thresholdProfileService.getAllUserProfiles(userLogin));
+    }
+
+    /**
+     * Creates or updates a threshold profile.
+     *
+     * @param thresholdProfileDto Profile information to be saved
+     * @return ResponseEntity containing all profiles of the user and HTTP status CREATED
+     */
+    @PostMapping
+    public ResponseEntity<List<ThresholdProfileEntity>> saveProfile(@RequestBody ThresholdProfileDto thresholdProfileDto) {
+        return new ResponseEntity<>(thresholdProfileService.saveProfile(thresholdProfileDto), HttpStatus.CREATED);
+    }
+
+    /**
+     * Deletes the threshold profile of a user for a reading name.
+     *
+     * @param userLogin   User login ID
+     * @param readingName Name of the reading
+     * @return ResponseEntity with no content and HTTP status NO_CONTENT
+     */
+    @DeleteMapping("/{userLogin}/{readingName}")
+    public ResponseEntity<Void> deleteProfile(@PathVariable String userLogin, @PathVariable String readingName) {
+        thresholdProfileService.deleteProfile(userLogin, readingName);
+        return ResponseEntity.noContent().build();
+    }
+}
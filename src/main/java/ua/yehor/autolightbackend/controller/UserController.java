@@ -1,15 +1,20 @@
 package ua.yehor.autolightbackend.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
+import ua.yehor.autolightbackend.dto.PageDto;
+import ua.yehor.autolightbackend.dto.UserSummaryDto;
 import ua.yehor.autolightbackend.model.Role;
 import ua.yehor.autolightbackend.model.UserEntity;
+import ua.yehor.autolightbackend.model.UserSearchMode;
 import ua.yehor.autolightbackend.service.UserService;
 
-import java.util.List;
 import java.util.Set;
 
 /**
@@ -25,13 +30,19 @@ public class UserController {
     private final UserService userService;
 
     /**
-     * Retrieves all users.
+     * Retrieves a page of users, optionally filtered by login, email or phone.
      *
-     * @return ResponseEntity containing a list of UserEntity representing all users
+     * @param search   Search term, matched case-insensitively
+     * @param mode     Whether values must start with or only contain the search term
+     * @param pageable Page number, size and sorting by login or id, sorted by login by default
+     * @return ResponseEntity containing a PageDto of UserSummaryDto
      */
     @GetMapping
-    public ResponseEntity<List<UserEntity>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<PageDto<UserSummaryDto>> getUsers(
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "PREFIX") UserSearchMode mode,
+            @PageableDefault(size = 50, sort = "login", direction = Sort.Direction.ASC) Pageable pageable) {
+        return ResponseEntity.ok(userService.getUsers(search, mode, pageable));
     }
 
     /**
@@ -82,9 +93,9 @@ public class UserController {
      * @throws AccessDeniedException if access to delete the user is denied
      */
     @DeleteMapping("/{login}")
-    public ResponseEntity<List<UserEntity>> deleteUserByLogin(@PathVariable String login) throws AccessDeniedException {
+    public ResponseEntity<Void> deleteUserByLogin(@PathVariable String login) throws AccessDeniedException {
         userService.deleteByLogin(login);
 
-        return ResponseEntity.ok(userService.getAllUsers());
+        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package ua.yehor.autolightbackend.dto;
+
+import ua.yehor.autolightbackend.model.ReadingComparison;
+
+/**
+ * Represents a Data Transfer Object (DTO) for creating an automation rule.
+ * <p>
+ * This record encapsulates the condition evaluated on readings of a device
+ * and the light level applied to one of the device's lamps when it matches.
+ * <p>
+ * Fields:
+ * - deviceId: Long representing the ID of the device whose readings are evaluated
+ * - readingName: String representing the name of the evaluated readings
+ * - comparison: ReadingComparison describing how the value is compared with the threshold
+ * - threshold: Integer representing the threshold of the condition
+ * - lampName: String representing the name of the device lamp to change
+ * - lightLevel: Integer representing the light level applied when the rule matches
+ */
+public record AutomationRuleDto(Long deviceId, String readingName, ReadingComparison comparison,
+                                Integer threshold, String lampName, Integer lightLevel) {
+    // No need for explicit constructor, accessor methods, equals, hashCode, or toString
+    // The record implicitly provides these based on its components
+}
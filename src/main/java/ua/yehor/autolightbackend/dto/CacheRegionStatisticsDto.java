@@ -0,0 +1,17 @@
+package ua.yehor.autolightbackend.dto;
+
+/**
+ * Represents a Data Transfer Object (DTO) for the statistics of one second-level cache region.
+ * <p>
+ * Fields:
+ * - region: String representing the name of the cache region
+ * - hitCount: long representing the number of lookups served by the cache
+ * - missCount: long representing the number of lookups that went to the database
+ * - putCount: long representing the number of entries put into the cache
+ * - elementCount: long representing the number of entries currently held, or a negative value if unknown
+ */
+public record CacheRegionStatisticsDto(String region, long hitCount, long missCount, long putCount,
+                                       long elementCount) {
+    // No need for explicit constructor, accessor methods, equals, hashCode, or toString
+    // The record implicitly provides these based on its components (region, hitCount, missCount, putCount and elementCount)
+}
@@ -0,0 +1,16 @@
+package ua.yehor.autolightbackend.dto;
+
+/**
+ * Represents a Data Transfer Object (DTO) for a newly created device API key.
+ * <p>
+ * This record is the only place the plain key is ever returned; afterwards only its hash is kept.
+ * <p>
+ * Fields:
+ * - id: Long representing the ID of the key
+ * - deviceId: Long representing the ID of the device the key belongs to
+ * - key: String representing the plain key to be configured on the device
+ */
+public record DeviceApiKeyDto(Long id, Long deviceId, String key) {
+    // No need for explicit constructor, accessor methods, equals, hashCode, or toString
+    // The record implicitly provides these based on its components (id, deviceId and key)
+}
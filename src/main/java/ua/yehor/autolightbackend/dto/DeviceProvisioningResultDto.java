@@ -0,0 +1,31 @@
+package ua.yehor.autolightbackend.dto;
+
+/**
+ * Represents a Data Transfer Object (DTO) for the outcome of one row of a bulk device provisioning.
+ * <p>
+ * Fields:
+ * - row: int representing the 1-based position of the row in the request
+ * - status: Status of the row
+ * - deviceId: Long representing the ID of the created device, or null if no device was created
+ */
+public record DeviceProvisioningResultDto(int row, Status status, Long deviceId) {
+    /**
+     * Outcome of a provisioning row.
+     */
+    public enum Status {
+        /**
+         * The device was created.
+         */
+        CREATED,
+
+        /**
+         * No user exists with the login of the row.
+         */
+        USER_NOT_FOUND,
+
+        /**
+         * The row misses the user login or the device name.
+         */
+        INVALID
+    }
+}
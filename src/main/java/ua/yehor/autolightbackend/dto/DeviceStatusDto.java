@@ -0,0 +1,16 @@
+package ua.yehor.autolightbackend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a Data Transfer Object (DTO) for the online status of a device.
+ * <p>
+ * Fields:
+ * - deviceId: Long representing the ID of the device
+ * - online: boolean indicating whether the device was seen within the presence timeout
+ * - lastSeenAt: LocalDateTime of the last heartbeat or reading of the device
+ */
+public record DeviceStatusDto(Long deviceId, boolean online, LocalDateTime lastSeenAt) {
+    // No need for explicit constructor, accessor methods, equals, hashCode, or toString
+    // The record implicitly provides these based on its components (deviceId, online and lastSeenAt)
+}
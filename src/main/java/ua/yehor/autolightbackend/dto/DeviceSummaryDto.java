@@ -0,0 +1,21 @@
+package ua.yehor.autolightbackend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a Data Transfer Object (DTO) summarizing a device in device listings.
+ * <p>
+ * This record is built directly by an aggregate query, so listing devices never
+ * loads their readings or lamps.
+ * <p>
+ * Fields:
+ * - id: Long representing the ID of the device
+ * - name: String representing the name of the device
+ * - lampCount: Long representing the number of lamps of the device
+ * - latestReadingAt: LocalDateTime of the most recent reading, or null if there are none
+ * - warningCount: Long representing the number of readings marked as warnings
+ */
+public record DeviceSummaryDto(Long id, String name, Long lampCount, LocalDateTime latestReadingAt, Long warningCount) {
+    // No need for explicit constructor, accessor methods, equals, hashCode, or toString
+    // The record implicitly provides these based on its components
+}
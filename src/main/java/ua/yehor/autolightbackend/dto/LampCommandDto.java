@@ -0,0 +1,29 @@
+package ua.yehor.autolightbackend.dto;
+
+/**
+ * Represents a Data Transfer Object (DTO) for a command setting the light level of a lamp,
+ * sent to a device over its WebSocket channel.
+ * <p>
+ * Fields:
+ * - type: String identifying the kind of frame, always {@value #TYPE}
+ * - lampName: String representing the name of the lamp on the device
+ * - lightLevel: Integer representing the light level to set
+ * - version: long representing the version of the lamp; a device ignores commands older than the last one applied
+ */
+public record LampCommandDto(String type, String lampName, Integer lightLevel, long version) {
+    /**
+     * Type of lamp command frames.
+     */
+    public static final String TYPE = "lampLevel";
+
+    /**
+     * Creates a command setting the light level of a lamp.
+     *
+     * @param lampName   The name of the lamp.
+     * @param lightLevel The light level to set.
+     * @param version    The version of the lamp.
+     */
+    public LampCommandDto(String lampName, Integer lightLevel, long version) {
+        this(TYPE, lampName, lightLevel, version);
+    }
+}
@@ -0,0 +1,16 @@
+package ua.yehor.autolightbackend.dto;
+
+/**
+ * Represents a Data Transfer Object (DTO) for a light level change decided by automation rules.
+ * <p>
+ * Changes are collected without touching the lamps loaded with the device, so each of them can be applied
+ * to a freshly read lamp in its own transaction.
+ * <p>
+ * Fields:
+ * - lampId: Long representing the ID of the lamp
+ * - lightLevel: Integer representing the light level set by the rule
+ */
+public record LampLevelChangeDto(Long lampId, Integer lightLevel) {
+    // No need for explicit constructor, accessor methods, equals, hashCode, or toString
+    // The record implicitly provides these based on its components (lampId and lightLevel)
+}
@@ -0,0 +1,34 @@
+package ua.yehor.autolightbackend.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Represents a Data Transfer Object (DTO) for one page of a larger result.
+ * <p>
+ * Fields:
+ * - content: List of the elements on the page
+ * - page: int representing the zero-based number of the page
+ * - size: int representing the requested number of elements per page
+ * - totalElements: long representing the number of elements across all pages
+ * - totalPages: int representing the number of pages
+ *
+ * @param <T> The type of the elements.
+ */
+public record PageDto<T>(List<T> content, int page, int size, long totalElements, int totalPages) {
+    // No need for explicit constructor, accessor methods, equals, hashCode, or toString
+    // The record implicitly provides these based on its components (content, page, size, totalElements and totalPages)
+
+    /**
+     * Creates a PageDto from a Spring Data page.
+     *
+     * @param page The page of results.
+     * @param <T>  The type of the elements.
+     * @return The PageDto with the content and position of the page.
+     */
+    public static <T> PageDto<T> of(Page<T> page) {
+        return new PageDto<>(page.getContent(), page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages());
+    }
+}
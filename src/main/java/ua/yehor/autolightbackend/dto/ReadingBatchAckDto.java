@@ -0,0 +1,44 @@
+package ua.yehor.autolightbackend.dto;
+
+import java.util.List;
+
+/**
+ * Represents a Data Transfer Object (DTO) acknowledging a frame of readings received over a WebSocket channel.
+ * <p>
+ * Fields:
+ * - type: String identifying the kind of frame, always {@value #TYPE}
+ * - batchId: String representing the ID of the acknowledged frame
+ * - saved: int representing the number of readings of the frame that were saved
+ * - failedIndexes: List of Integer representing the positions of the readings that could not be saved
+ * - error: String describing why the whole frame was rejected, or null if it was processed
+ */
+public record ReadingBatchAckDto(String type, String batchId, int saved, List<Integer> failedIndexes,
+                                 String error) {
+    /**
+     * Type of reading acknowledgement frames.
+     */
+    public static final String TYPE = "readingAck";
+
+    /**
+     * Creates an acknowledgement of a processed frame.
+     *
+     * @param batchId       The ID of the frame.
+     * @param saved         The number of saved readings.
+     * @param failedIndexes The positions of the readings that could not be saved.
+     * @return The acknowledgement.
+     */
+    public static ReadingBatchAckDto processed(String batchId, int saved, List<Integer> failedIndexes) {
+        return new ReadingBatchAckDto(TYPE, batchId, saved, failedIndexes, null);
+    }
+
+    /**
+     * Creates an acknowledgement of a frame rejected as a whole; none of its readings were saved.
+     *
+     * @param batchId The ID of the frame.
+     * @param error   The reason of the rejection.
+     * @return The acknowledgement.
+     */
+    public static ReadingBatchAckDto rejected(String batchId, String error) {
+        return new ReadingBatchAckDto(TYPE, batchId, 0, List.of(), error);
+    }
+}
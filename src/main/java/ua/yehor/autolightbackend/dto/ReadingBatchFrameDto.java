@@ -0,0 +1,16 @@
+package ua.yehor.autolightbackend.dto;
+
+import java.util.List;
+
+/**
+ * Represents a Data Transfer Object (DTO) for a frame of readings sent by a device over its WebSocket channel.
+ * <p>
+ * Fields:
+ * - batchId: String identifying the frame on the device, echoed in the acknowledgement
+ * - readings: List of ReadingDto representing the readings of the frame; their device IDs are ignored,
+ * as all readings belong to the device the channel was opened by
+ */
+public record ReadingBatchFrameDto(String batchId, List<ReadingDto> readings) {
+    // No need for explicit constructor, accessor methods, equals, hashCode, or toString
+    // The record implicitly provides these based on its components (batchId and readings)
+}
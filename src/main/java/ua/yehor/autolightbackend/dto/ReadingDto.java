@@ -1,5 +1,7 @@
 package ua.yehor.autolightbackend.dto;
 
+import java.time.LocalDateTime;
+
 /**
  * Represents a Data Transfer Object (DTO) for reading information.
  * <p>
@@ -12,8 +14,12 @@ package ua.yehor.autolightbackend.dto;
  * - name: String representing the name or identifier of the reading
  * - value: Integer representing the value captured in the reading
  * - isWarning: Boolean indicating if the reading is considered a warning
+ * - clientReadingId: String identifying the reading on the device, optional; retries with the same ID are saved once
+ * - measuredAt: LocalDateTime representing when the device measured the value, optional; defaults to the time of receipt
  */
-public record ReadingDto(Long deviceId, String name, Integer value, Boolean isWarning) {
+public record ReadingDto(Long deviceId, String name, Integer value, Boolean isWarning, String clientReadingId,
+                         LocalDateTime measuredAt) {
     // No need for explicit constructor, accessor methods, equals, hashCode, or toString
-    // The record implicitly provides these based on its components (deviceId, name, value, isWarning)
+    // The record implicitly provides these based on its components
+    // (deviceId, name, value, isWarning, clientReadingId, measuredAt)
 }
@@ -0,0 +1,18 @@
+package ua.yehor.autolightbackend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a Data Transfer Object (DTO) for the position of a reading in the measurement order of its device.
+ * <p>
+ * This record is built directly by a projection query, so batch jobs can walk the readings of a device
+ * along the device and measurement time index without loading whole readings.
+ * <p>
+ * Fields:
+ * - id: Long representing the ID of the reading
+ * - dateTime: LocalDateTime representing when the reading was measured
+ */
+public record ReadingPositionDto(Long id, LocalDateTime dateTime) {
+    // No need for explicit constructor, accessor methods, equals, hashCode, or toString
+    // The record implicitly provides these based on its components (id and dateTime)
+}
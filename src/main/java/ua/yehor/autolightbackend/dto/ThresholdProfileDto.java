@@ -0,0 +1,18 @@
+package ua.yehor.autolightbackend.dto;
+
+/**
+ * Represents a Data Transfer Object (DTO) for threshold profile information.
+ * <p>
+ * This record encapsulates the normal range of a reading for a user,
+ * used for creating or updating a threshold profile.
+ * <p>
+ * Fields:
+ * - userLogin: String representing the login of the user the profile applies to
+ * - readingName: String representing the name of the readings the profile applies to
+ * - minValue: Integer representing the lowest normal value, or null for no lower bound
+ * - maxValue: Integer representing the highest normal value, or null for no upper bound
+ */
+public record ThresholdProfileDto(String userLogin, String readingName, Integer minValue, Integer maxValue) {
+    // No need for explicit constructor, accessor methods, equals, hashCode, or toString
+    // The record implicitly provides these based on its components
+}
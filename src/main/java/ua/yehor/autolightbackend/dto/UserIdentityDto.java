@@ -0,0 +1,16 @@
+package ua.yehor.autolightbackend.dto;
+
+/**
+ * Represents a Data Transfer Object (DTO) pairing a user ID with the user's login.
+ * <p>
+ * This record is built directly by a projection query, so resolving logins
+ * never loads whole users with their roles and devices.
+ * <p>
+ * Fields:
+ * - id: Long representing the ID of the user
+ * - login: String representing the login of the user
+ */
+public record UserIdentityDto(Long id, String login) {
+    // No need for explicit constructor, accessor methods, equals, hashCode, or toString
+    // The record implicitly provides these based on its components (id and login)
+}
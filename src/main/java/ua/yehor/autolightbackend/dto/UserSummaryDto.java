@@ -0,0 +1,35 @@
+package ua.yehor.autolightbackend.dto;
+
+import ua.yehor.autolightbackend.model.Role;
+import ua.yehor.autolightbackend.model.UserEntity;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Represents a Data Transfer Object (DTO) for a user in user listings.
+ * <p>
+ * This record carries the user's own columns and roles only, so listing users never loads their devices.
+ * <p>
+ * Fields:
+ * - login: String representing the user's login
+ * - email: String representing the user's email address
+ * - phone: String representing the user's phone number
+ * - createdAt: LocalDateTime representing the time the user was created
+ * - roles: Set of the user's roles
+ */
+public record UserSummaryDto(String login, String email, String phone, LocalDateTime createdAt, Set<Role> roles) {
+    // No need for explicit constructor, accessor methods, equals, hashCode, or toString
+    // The record implicitly provides these based on its components (login, email, phone, createdAt and roles)
+
+    /**
+     * Creates a UserSummaryDto from a user.
+     *
+     * @param user The UserEntity to summarize.
+     * @return The UserSummaryDto of the user.
+     */
+    public static UserSummaryDto of(UserEntity user) {
+        return new UserSummaryDto(user.getLogin(), user.getEmail(), user.getPhone(), user.getCreatedAt(),
+                Set.copyOf(user.getRoles()));
+    }
+}
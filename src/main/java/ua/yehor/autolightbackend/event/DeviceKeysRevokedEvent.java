@@ -0,0 +1,14 @@
+package ua.yehor.autolightbackend.event;
+
+/**
+ * Application event published when API keys of a device stop being valid,
+ * because a key was revoked or the device was deleted, on this node or on another one.
+ * Channels opened with a key of the device are closed, so the device has to authenticate again.
+ * <p>
+ * Fields:
+ * - deviceId: Long representing the ID of the device
+ */
+public record DeviceKeysRevokedEvent(Long deviceId) {
+    // No need for explicit constructor, accessor methods, equals, hashCode, or toString
+    // The record implicitly provides these based on its component (deviceId)
+}
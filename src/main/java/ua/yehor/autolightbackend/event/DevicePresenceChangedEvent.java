@@ -0,0 +1,13 @@
+package ua.yehor.autolightbackend.event;
+
+/**
+ * Application event published when a device comes online or goes offline.
+ * <p>
+ * Fields:
+ * - deviceId: Long representing the ID of the device
+ * - online: boolean indicating the new state of the device
+ */
+public record DevicePresenceChangedEvent(Long deviceId, boolean online) {
+    // No need for explicit constructor, accessor methods, equals, hashCode, or toString
+    // The record implicitly provides these based on its components (deviceId and online)
+}
@@ -0,0 +1,20 @@
+package ua.yehor.autolightbackend.event;
+
+import ua.yehor.autolightbackend.model.LampChangeSource;
+
+/**
+ * Application event published when the light level of a lamp is saved.
+ * <p>
+ * Fields:
+ * - deviceId: Long representing the ID of the device owning the lamp
+ * - lampName: String representing the name of the lamp on the device
+ * - lightLevel: Integer representing the new light level of the lamp
+ * - version: long representing the version of the lamp after the change, increasing with every change
+ * - source: LampChangeSource representing the origin of the change
+ */
+public record LampLevelChangedEvent(Long deviceId, String lampName, Integer lightLevel, long version,
+                                    LampChangeSource source) {
+    // No need for explicit constructor, accessor methods, equals, hashCode, or toString
+    // The record implicitly provides these based on its components
+    // (deviceId, lampName, lightLevel, version and source)
+}
@@ -0,0 +1,18 @@
+package ua.yehor.autolightbackend.exception;
+
+/**
+ * Custom exception indicating that the asynchronous reading ingestion cannot accept more readings.
+ * <p>
+ * This exception is thrown when the queue of readings waiting to be written is full,
+ * so devices back off and retry instead of piling readings up in memory.
+ */
+public class IngestionOverloadedException extends RuntimeException {
+    /**
+     * Constructs an IngestionOverloadedException with the provided error message.
+     *
+     * @param message Error message describing the state of the queue
+     */
+    public IngestionOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package ua.yehor.autolightbackend.exception;
+
+/**
+ * Custom exception indicating that an automation rule cannot be evaluated.
+ * <p>
+ * This exception is thrown when a rule is saved without its reading name, comparison,
+ * threshold or light level.
+ */
+public class InvalidAutomationRuleException extends RuntimeException {
+    /**
+     * Constructs an InvalidAutomationRuleException with the provided error message.
+     *
+     * @param message Error message describing the missing part of the rule
+     */
+    public InvalidAutomationRuleException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package ua.yehor.autolightbackend.exception;
+
+/**
+ * Custom exception indicating that a listing cannot be sorted as requested.
+ * <p>
+ * This exception is thrown when a page is requested sorted by a property the listing is not allowed to be sorted by.
+ */
+public class InvalidSortException extends RuntimeException {
+    /**
+     * Constructs an InvalidSortException with the provided error message.
+     *
+     * @param message Error message naming the rejected sort property
+     */
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
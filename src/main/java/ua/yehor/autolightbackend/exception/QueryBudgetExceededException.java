@@ -0,0 +1,18 @@
+package ua.yehor.autolightbackend.exception;
+
+/**
+ * Custom exception indicating that a request executed more SQL statements than its endpoint allows.
+ * <p>
+ * This exception is only thrown in the strict query budget mode, to catch regressions
+ * such as lazy loading in loops before they are deployed.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+    /**
+     * Constructs a QueryBudgetExceededException with the provided error message.
+     *
+     * @param message Error message describing the endpoint and its budget
+     */
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package ua.yehor.autolightbackend.exception;
+
+/**
+ * Custom exception indicating that a reading with the same client reading ID is being saved right now.
+ * <p>
+ * This exception is thrown for a retry racing with the original reading, so the retry neither
+ * saves the reading twice nor feeds it to the detectors twice, and the device asks again later.
+ */
+public class ReadingInProgressException extends RuntimeException {
+    /**
+     * Constructs a ReadingInProgressException with the provided error message.
+     *
+     * @param message Error message identifying the reading
+     */
+    public ReadingInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package ua.yehor.autolightbackend.exception;
+
+/**
+ * Custom exception indicating that an entity was changed since the client last read it.
+ * <p>
+ * This exception is thrown when the version sent in an If-Match header
+ * differs from the current version of the entity being modified.
+ */
+public class VersionMismatchException extends RuntimeException {
+    /**
+     * Constructs a VersionMismatchException with the provided error message.
+     *
+     * @param message Error message describing the expected and current versions
+     */
+    public VersionMismatchException(String message) {
+        super(message);
+    }
+}
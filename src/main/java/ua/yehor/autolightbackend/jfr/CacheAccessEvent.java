@@ -0,0 +1,48 @@
+package ua.yehor.autolightbackend.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event marking a lookup in the Hibernate second-level or query cache.
+ */
+@Name("autolight.CacheAccess")
+@Label("Cache Access")
+@Description("Hit or miss of a lookup in the Hibernate second-level or query cache")
+@Category({"Autolight", "Cache"})
+@StackTrace(false)
+public class CacheAccessEvent extends Event {
+    /**
+     * Name of the cache region.
+     */
+    @Label("Region")
+    private String region;
+
+    /**
+     * Entity, collection or query looked up.
+     */
+    @Label("Key")
+    private String key;
+
+    /**
+     * Indicates whether the lookup found a cached value.
+     */
+    @Label("Hit")
+    private boolean hit;
+
+    /**
+     * Records an access if the event is enabled.
+     *
+     * @param region The name of the cache region.
+     * @param key    The entity, collection or query looked up.
+     * @param hit    True if a cached value was found, false otherwise.
+     */
+    public static void record(String region, String key, boolean hit) {
+        CacheAccessEvent event = new CacheAccessEvent();
+        if (event.shouldCommit()) {
+            event.region = region;
+            event.key = key;
+            event.hit = hit;
+            event.commit();
+        }
+    }
+}
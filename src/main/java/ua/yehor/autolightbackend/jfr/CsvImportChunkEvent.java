@@ -0,0 +1,51 @@
+package ua.yehor.autolightbackend.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event covering the import of one chunk of rows of a user CSV file.
+ */
+@Name("autolight.CsvImportChunk")
+@Label("CSV Import Chunk")
+@Description("Import of one chunk of rows of a user CSV file")
+@Category({"Autolight", "Import"})
+@StackTrace(false)
+public class CsvImportChunkEvent extends Event {
+    /**
+     * Number of rows in the chunk.
+     */
+    @Label("Rows")
+    private int rows;
+
+    /**
+     * Number of users created from the chunk.
+     */
+    @Label("Imported Users")
+    private int importedUsers;
+
+    /**
+     * Creates an event and starts its timing.
+     *
+     * @return The started event.
+     */
+    public static CsvImportChunkEvent start() {
+        CsvImportChunkEvent event = new CsvImportChunkEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the timing and records the event if it is enabled and over its threshold.
+     *
+     * @param rows          The number of rows in the chunk.
+     * @param importedUsers The number of users created from the chunk.
+     */
+    public void finish(int rows, int importedUsers) {
+        end();
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.importedUsers = importedUsers;
+            commit();
+        }
+    }
+}
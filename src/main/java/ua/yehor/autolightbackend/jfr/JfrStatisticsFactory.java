@@ -0,0 +1,111 @@
+package ua.yehor.autolightbackend.jfr;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.model.domain.NavigableRole;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Hibernate statistics factory recording every second-level and query cache hit and miss
+ * as a {@link CacheAccessEvent}, in addition to the regular statistics.
+ * Registered with the hibernate.stats.factory property.
+ */
+public class JfrStatisticsFactory implements StatisticsFactory {
+    /**
+     * Builds the statistics of a session factory.
+     *
+     * @param sessionFactory The session factory.
+     * @return The statistics recording cache accesses.
+     */
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new JfrStatistics(sessionFactory);
+    }
+
+    /**
+     * Regular statistics, additionally recording cache accesses.
+     */
+    private static class JfrStatistics extends StatisticsImpl {
+        /**
+         * Creates the statistics of a session factory.
+         *
+         * @param sessionFactory The session factory.
+         */
+        private JfrStatistics(SessionFactoryImplementor sessionFactory) {
+            super(sessionFactory);
+        }
+
+        /**
+         * Records a hit of an entity in the second-level cache.
+         *
+         * @param entityName The entity looked up.
+         * @param regionName The name of the cache region.
+         */
+        @Override
+        public void entityCacheHit(NavigableRole entityName, String regionName) {
+            super.entityCacheHit(entityName, regionName);
+            CacheAccessEvent.record(regionName, entityName.getFullPath(), true);
+        }
+
+        /**
+         * Records a miss of an entity in the second-level cache.
+         *
+         * @param entityName The entity looked up.
+         * @param regionName The name of the cache region.
+         */
+        @Override
+        public void entityCacheMiss(NavigableRole entityName, String regionName) {
+            super.entityCacheMiss(entityName, regionName);
+            CacheAccessEvent.record(regionName, entityName.getFullPath(), false);
+        }
+
+        /**
+         * Records a hit of a collection in the second-level cache.
+         *
+         * @param collectionRole The collection looked up.
+         * @param regionName     The name of the cache region.
+         */
+        @Override
+        public void collectionCacheHit(NavigableRole collectionRole, String regionName) {
+            super.collectionCacheHit(collectionRole, regionName);
+            CacheAccessEvent.record(regionName, collectionRole.getFullPath(), true);
+        }
+
+        /**
+         * Records a miss of a collection in the second-level cache.
+         *
+         * @param collectionRole The collection looked up.
+         * @param regionName     The name of the cache region.
+         */
+        @Override
+        public void collectionCacheMiss(NavigableRole collectionRole, String regionName) {
+            super.collectionCacheMiss(collectionRole, regionName);
+            CacheAccessEvent.record(regionName, collectionRole.getFullPath(), false);
+        }
+
+        /**
+         * Records a hit of a query in the query cache.
+         *
+         * @param hql        The query looked up.
+         * @param regionName The name of the cache region.
+         */
+        @Override
+        public void queryCacheHit(String hql, String regionName) {
+            super.queryCacheHit(hql, regionName);
+            CacheAccessEvent.record(regionName, hql, true);
+        }
+
+        /**
+         * Records a miss of a query in the query cache.
+         *
+         * @param hql        The query looked up.
+         * @param regionName The name of the cache region.
+         */
+        @Override
+        public void queryCacheMiss(String hql, String regionName) {
+            super.queryCacheMiss(hql, regionName);
+            CacheAccessEvent.record(regionName, hql, false);
+        }
+    }
+}
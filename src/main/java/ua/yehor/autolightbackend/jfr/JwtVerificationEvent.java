@@ -0,0 +1,43 @@
+package ua.yehor.autolightbackend.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event covering the parsing and signature verification of a JWT token.
+ */
+@Name("autolight.JwtVerification")
+@Label("JWT Verification")
+@Description("Parsing and signature verification of a JWT token")
+@Category({"Autolight", "Security"})
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+    /**
+     * Indicates whether the token was parsed and its signature is valid.
+     */
+    @Label("Valid")
+    private boolean valid;
+
+    /**
+     * Creates an event and starts its timing.
+     *
+     * @return The started event.
+     */
+    public static JwtVerificationEvent start() {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the timing and records the event if it is enabled and over its threshold.
+     *
+     * @param valid True if the token is valid, false otherwise.
+     */
+    public void finish(boolean valid) {
+        end();
+        if (shouldCommit()) {
+            this.valid = valid;
+            commit();
+        }
+    }
+}
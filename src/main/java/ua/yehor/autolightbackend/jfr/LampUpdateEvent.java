@@ -0,0 +1,60 @@
+package ua.yehor.autolightbackend.jfr;
+
+import jdk.jfr.*;
+import ua.yehor.autolightbackend.model.LampChangeSource;
+
+/**
+ * Flight recorder event covering an update of the light level of a lamp, including retries on conflicts.
+ */
+@Name("autolight.LampUpdate")
+@Label("Lamp Update")
+@Description("Update of the light level of a lamp")
+@Category({"Autolight", "Lamps"})
+@StackTrace(false)
+public class LampUpdateEvent extends Event {
+    /**
+     * ID of the lamp.
+     */
+    @Label("Lamp ID")
+    private long lampId;
+
+    /**
+     * New light level of the lamp.
+     */
+    @Label("Light Level")
+    private int lightLevel;
+
+    /**
+     * Origin of the update.
+     */
+    @Label("Source")
+    private String source;
+
+    /**
+     * Creates an event and starts its timing.
+     *
+     * @return The started event.
+     */
+    public static LampUpdateEvent start() {
+        LampUpdateEvent event = new LampUpdateEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the timing and records the event if it is enabled and over its threshold.
+     *
+     * @param lampId     The ID of the lamp.
+     * @param lightLevel The new light level of the lamp.
+     * @param source     The origin of the update.
+     */
+    public void finish(long lampId, int lightLevel, LampChangeSource source) {
+        end();
+        if (shouldCommit()) {
+            this.lampId = lampId;
+            this.lightLevel = lightLevel;
+            this.source = source.name();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ua.yehor.autolightbackend.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event covering the persistence of a reading,
+ * together with the lamp and alert changes it triggered.
+ */
+@Name("autolight.ReadingPersistence")
+@Label("Reading Persistence")
+@Description("Insert of a reading and of the lamp and alert changes it triggered")
+@Category({"Autolight", "Readings"})
+@StackTrace(false)
+public class ReadingPersistenceEvent extends Event {
+    /**
+     * ID of the device of the reading.
+     */
+    @Label("Device ID")
+    private long deviceId;
+
+    /**
+     * Name of the reading.
+     */
+    @Label("Reading Name")
+    private String readingName;
+
+    /**
+     * Indicates whether the reading turned out to be a retry of a saved one.
+     */
+    @Label("Duplicate")
+    private boolean duplicate;
+
+    /**
+     * Creates an event and starts its timing.
+     *
+     * @return The started event.
+     */
+    public static ReadingPersistenceEvent start() {
+        ReadingPersistenceEvent event = new ReadingPersistenceEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the timing and records the event if it is enabled and over its threshold.
+     *
+     * @param deviceId    The ID of the device of the reading.
+     * @param readingName The name of the reading.
+     * @param duplicate   True if the reading was a retry of a saved one, false otherwise.
+     */
+    public void finish(long deviceId, String readingName, boolean duplicate) {
+        end();
+        if (shouldCommit()) {
+            this.deviceId = deviceId;
+            this.readingName = readingName;
+            this.duplicate = duplicate;
+            commit();
+        }
+    }
+}
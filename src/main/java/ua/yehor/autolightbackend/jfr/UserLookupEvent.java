@@ -0,0 +1,51 @@
+package ua.yehor.autolightbackend.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event covering the lookup of the user of an authenticated request.
+ */
+@Name("autolight.UserLookup")
+@Label("User Lookup")
+@Description("Lookup of a user by login during authentication")
+@Category({"Autolight", "Security"})
+@StackTrace(false)
+public class UserLookupEvent extends Event {
+    /**
+     * Login of the user.
+     */
+    @Label("Login")
+    private String login;
+
+    /**
+     * Indicates whether the user exists.
+     */
+    @Label("Found")
+    private boolean found;
+
+    /**
+     * Creates an event and starts its timing.
+     *
+     * @return The started event.
+     */
+    public static UserLookupEvent start() {
+        UserLookupEvent event = new UserLookupEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the timing and records the event if it is enabled and over its threshold.
+     *
+     * @param login The login of the user.
+     * @param found True if the user exists, false otherwise.
+     */
+    public void finish(String login, boolean found) {
+        end();
+        if (shouldCommit()) {
+            this.login = login;
+            this.found = found;
+            commit();
+        }
+    }
+}
@@ -8,6 +8,7 @@ import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import ua.yehor.autolightbackend.jfr.JwtVerificationEvent;
 import ua.yehor.autolightbackend.model.UserEntity;
 
 import java.security.Key;
@@ -95,7 +96,15 @@ public class JwtService {
      * @return The extracted Claims object containing all claims from the token
      */
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSignInKey()).build().parseClaimsJws(token).getBody();
+        JwtVerificationEvent event = JwtVerificationEvent.start();
+        boolean valid = false;
+        try {
+            Claims claims = Jwts.parserBuilder().setSigningKey(getSignInKey()).build().parseClaimsJws(token).getBody();
+            valid = true;
+            return claims;
+        } finally {
+            event.finish(valid);
+        }
     }
 
     /**
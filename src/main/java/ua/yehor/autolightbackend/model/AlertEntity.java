@@ -0,0 +1,82 @@
+package ua.yehor.autolightbackend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents an alert raised when a device reports several warnings within a short time window.
+ * One alert consolidates all the warnings of the window.
+ */
+@Entity
+@Table(indexes = @Index(name = "alert_device_id_idx", columnList = "device_id"))
+@Getter
+@NoArgsConstructor
+public class AlertEntity {
+    /**
+     * Unique identifier for the alert entity.
+     */
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    /**
+     * The device that reported the warnings.
+     */
+    @ManyToOne
+    @JoinColumn(name = "device_id")
+    @JsonIgnore
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private DeviceEntity device;
+
+    /**
+     * Number of warnings consolidated in the alert.
+     */
+    private Integer warningCount;
+
+    /**
+     * Date and time of the first warning of the window.
+     */
+    private LocalDateTime firstWarningAt;
+
+    /**
+     * Date and time of the last warning of the window.
+     */
+    private LocalDateTime lastWarningAt;
+
+    /**
+     * Date and time when the alert was raised.
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * Constructs an AlertEntity object with specified parameters.
+     *
+     * @param device         The device that reported the warnings.
+     * @param warningCount   The number of consolidated warnings.
+     * @param firstWarningAt The date and time of the first warning.
+     * @param lastWarningAt  The date and time of the last warning.
+     */
+    public AlertEntity(DeviceEntity device, Integer warningCount,
+                       LocalDateTime firstWarningAt, LocalDateTime lastWarningAt) {
+        this.device = device;
+        this.warningCount = warningCount;
+        this.firstWarningAt = firstWarningAt;
+        this.lastWarningAt = lastWarningAt;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Retrieves the ID of the device that reported the warnings.
+     *
+     * @return The device ID.
+     */
+    public Long getDeviceId() {
+        return device.getId();
+    }
+}
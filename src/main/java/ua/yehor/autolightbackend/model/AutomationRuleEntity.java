@@ -0,0 +1,100 @@
+package ua.yehor.autolightbackend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Represents a rule changing the light level of a lamp when a device reports a matching reading.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class AutomationRuleEntity {
+    /**
+     * Unique identifier for the automation rule entity.
+     */
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    /**
+     * The device whose readings are evaluated by this rule.
+     */
+    @ManyToOne
+    @JsonIgnore
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private DeviceEntity device;
+
+    /**
+     * Name of the readings evaluated by this rule.
+     */
+    private String readingName;
+
+    /**
+     * How the reading value is compared with the threshold.
+     */
+    @Enumerated(EnumType.STRING)
+    private ReadingComparison comparison;
+
+    /**
+     * The threshold the reading value is compared with.
+     */
+    private Integer threshold;
+
+    /**
+     * The lamp whose light level is changed by this rule.
+     */
+    @ManyToOne
+    @JsonIgnore
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private LampEntity lamp;
+
+    /**
+     * The light level set on the lamp when the rule matches.
+     */
+    private Integer lightLevel;
+
+    /**
+     * Constructs an AutomationRuleEntity object with specified parameters.
+     *
+     * @param device      The device whose readings are evaluated.
+     * @param readingName The name of the evaluated readings.
+     * @param comparison  How the reading value is compared with the threshold.
+     * @param threshold   The threshold the reading value is compared with.
+     * @param lamp        The lamp whose light level is changed.
+     * @param lightLevel  The light level set on the lamp.
+     */
+    public AutomationRuleEntity(DeviceEntity device, String readingName, ReadingComparison comparison,
+                                Integer threshold, LampEntity lamp, Integer lightLevel) {
+        this.device = device;
+        this.readingName = readingName;
+        this.comparison = comparison;
+        this.threshold = threshold;
+        this.lamp = lamp;
+        this.lightLevel = lightLevel;
+    }
+
+    /**
+     * Retrieves the ID of the device whose readings are evaluated.
+     *
+     * @return The device ID.
+     */
+    public Long getDeviceId() {
+        return device.getId();
+    }
+
+    /**
+     * Retrieves the ID of the lamp changed by this rule.
+     *
+     * @return The lamp ID.
+     */
+    public Long getLampId() {
+        return lamp.getId();
+    }
+}
@@ -0,0 +1,74 @@
+package ua.yehor.autolightbackend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents an API key a device uses to submit its own readings and heartbeats.
+ * Only a hash of the key is stored; the key itself is shown once when it is created.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+public class DeviceApiKeyEntity {
+    /**
+     * Unique identifier for the device API key entity.
+     */
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    /**
+     * The device the key belongs to.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JsonIgnore
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private DeviceEntity device;
+
+    /**
+     * Hex-encoded SHA-256 hash of the key.
+     */
+    @Column(unique = true, nullable = false)
+    @JsonIgnore
+    private String keyHash;
+
+    /**
+     * First characters of the key, letting technicians tell keys apart.
+     */
+    private String keyPrefix;
+
+    /**
+     * Date and time of key creation.
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * Constructs a DeviceApiKeyEntity object with specified parameters.
+     *
+     * @param device    The device the key belongs to.
+     * @param keyHash   The hash of the key.
+     * @param keyPrefix The first characters of the key.
+     */
+    public DeviceApiKeyEntity(DeviceEntity device, String keyHash, String keyPrefix) {
+        this.device = device;
+        this.keyHash = keyHash;
+        this.keyPrefix = keyPrefix;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Retrieves the ID of the device the key belongs to.
+     *
+     * @return The device ID.
+     */
+    public Long getDeviceId() {
+        return device.getId();
+    }
+}
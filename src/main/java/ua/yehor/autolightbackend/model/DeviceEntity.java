@@ -5,6 +5,9 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OptimisticLock;
 
 import java.util.Set;
 
@@ -13,6 +16,7 @@ import java.util.Set;
  * This class defines attributes and behaviors of a device.
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "devices")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -42,6 +46,7 @@ public class DeviceEntity {
      * These readings are related to this device.
      */
     @OneToMany(mappedBy = "device", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OptimisticLock(excluded = true)
     private Set<ReadingEntity> readings;
 
     /**
@@ -49,8 +54,18 @@ public class DeviceEntity {
      * These lamps are related to this device.
      */
     @OneToMany(mappedBy = "device", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "deviceLamps")
+    @OptimisticLock(excluded = true)
     private Set<LampEntity> lamps;
 
+    /**
+     * Version of the device, incremented when its own columns change.
+     * Readings and lamps are excluded, as lamps carry versions of their own.
+     */
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long version;
+
     /**
      * Constructs a DeviceEntity object with a specified name.
      *
@@ -0,0 +1,21 @@
+package ua.yehor.autolightbackend.model;
+
+/**
+ * Enum representing the origin of a lamp light level change.
+ */
+public enum LampChangeSource {
+    /**
+     * The lamp was added to a device with its initial light level.
+     */
+    CREATION,
+
+    /**
+     * The light level was changed by a user through the lamp endpoints.
+     */
+    MANUAL,
+
+    /**
+     * The light level was changed by an automation rule matching a saved reading.
+     */
+    AUTOMATION
+}
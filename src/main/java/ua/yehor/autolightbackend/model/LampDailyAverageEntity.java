@@ -0,0 +1,82 @@
+package ua.yehor.autolightbackend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Represents the time-weighted light level of a lamp during one day.
+ * The sums are maintained incrementally each time an interval of constant level is closed
+ * by a newer lamp state, so the average never has to be recomputed from the history.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "lamp_daily_average_lamp_id_day_key",
+        columnNames = {"lamp_id", "average_day"}))
+@Getter
+@NoArgsConstructor
+public class LampDailyAverageEntity {
+    /**
+     * Unique identifier for the daily average entity.
+     */
+    @Id
+    @GeneratedValue
+    @JsonIgnore
+    private Long id;
+
+    /**
+     * Identifier of the lamp the average belongs to.
+     */
+    @Column(name = "lamp_id")
+    private Long lampId;
+
+    /**
+     * The day covered by the average.
+     */
+    @Column(name = "average_day")
+    private LocalDate day;
+
+    /**
+     * Sum of light level multiplied by the seconds the level was held.
+     */
+    @JsonIgnore
+    private long levelSeconds;
+
+    /**
+     * Number of seconds of the day covered by closed intervals.
+     */
+    private long coveredSeconds;
+
+    /**
+     * Constructs an empty LampDailyAverageEntity for a lamp and a day.
+     *
+     * @param lampId The identifier of the lamp.
+     * @param day    The day covered by the average.
+     */
+    public LampDailyAverageEntity(Long lampId, LocalDate day) {
+        this.lampId = lampId;
+        this.day = day;
+    }
+
+    /**
+     * Adds an interval during which the lamp held a constant light level.
+     *
+     * @param levelSeconds   The light level multiplied by the interval length in seconds.
+     * @param coveredSeconds The interval length in seconds.
+     */
+    public void addInterval(long levelSeconds, long coveredSeconds) {
+        this.levelSeconds += levelSeconds;
+        this.coveredSeconds += coveredSeconds;
+    }
+
+    /**
+     * Calculates the time-weighted average light level of the day.
+     *
+     * @return The average light level, or 0 if no interval has been closed yet.
+     */
+    public double getAverageLightLevel() {
+        return coveredSeconds == 0 ? 0 : (double) levelSeconds / coveredSeconds;
+    }
+}
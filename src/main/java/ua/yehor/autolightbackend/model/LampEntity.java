@@ -1,19 +1,20 @@
 package ua.yehor.autolightbackend.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.Id;
-import jakarta.persistence.ManyToOne;
+import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a lamp entity within the system.
  * Each lamp can be associated with a device and contains information about its name and light level.
  */
 @Entity
+@Table(indexes = @Index(name = "lamp_device_id_idx", columnList = "device_id"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lamps")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,6 +30,7 @@ public class LampEntity {
      * The device associated with this reading.
      */
     @ManyToOne
+    @JoinColumn(name = "device_id")
     @JsonIgnore
     private DeviceEntity device;
 
@@ -42,6 +44,13 @@ public class LampEntity {
      */
     private Integer lightLevel;
 
+    /**
+     * Version of the lamp, incremented on every update and checked to detect concurrent modifications.
+     */
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long version;
+
     /**
      * Constructs a LampEntity object with a name and light level.
      *
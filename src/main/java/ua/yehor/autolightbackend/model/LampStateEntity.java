@@ -0,0 +1,82 @@
+package ua.yehor.autolightbackend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a single light level change of a lamp.
+ * States are only ever appended and together form the history of a lamp.
+ */
+@Entity
+@Table(indexes = @Index(name = "lamp_state_lamp_id_changed_at_idx", columnList = "lamp_id, changed_at"))
+@Getter
+@NoArgsConstructor
+public class LampStateEntity {
+    /**
+     * Unique identifier for the lamp state entity.
+     */
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    /**
+     * Identifier of the lamp whose level changed.
+     * Kept as a plain column so the history outlives the lamp itself.
+     */
+    @Column(name = "lamp_id")
+    private Long lampId;
+
+    /**
+     * Identifier of the device the lamp belonged to at the time of the change.
+     */
+    private Long deviceId;
+
+    /**
+     * The light level the lamp was set to.
+     */
+    private Integer lightLevel;
+
+    /**
+     * Date and time when the light level was changed.
+     */
+    @Column(name = "changed_at")
+    private LocalDateTime changedAt;
+
+    /**
+     * Origin of the change.
+     */
+    @Enumerated(EnumType.STRING)
+    private LampChangeSource source;
+
+    /**
+     * Constructs a LampStateEntity capturing the current light level of a lamp.
+     *
+     * @param lamp   The lamp whose level changed.
+     * @param source The origin of the change.
+     */
+    public LampStateEntity(LampEntity lamp, LampChangeSource source) {
+        this.lampId = lamp.getId();
+        this.deviceId = lamp.getDevice().getId();
+        this.lightLevel = lamp.getLightLevel();
+        this.changedAt = LocalDateTime.now();
+        this.source = source;
+    }
+
+    /**
+     * Creates an unsaved copy of the state, used to write it again after a failed write.
+     *
+     * @return A LampStateEntity with the same values and no ID.
+     */
+    public LampStateEntity copy() {
+        LampStateEntity copy = new LampStateEntity();
+        copy.lampId = lampId;
+        copy.deviceId = deviceId;
+        copy.lightLevel = lightLevel;
+        copy.changedAt = changedAt;
+        copy.source = source;
+        return copy;
+    }
+}
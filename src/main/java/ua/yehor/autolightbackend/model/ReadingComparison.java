@@ -0,0 +1,27 @@
+package ua.yehor.autolightbackend.model;
+
+/**
+ * Enum representing how a reading value is compared with the threshold of an automation rule.
+ */
+public enum ReadingComparison {
+    /**
+     * Matches readings with a value strictly greater than the threshold.
+     */
+    ABOVE,
+
+    /**
+     * Matches readings with a value strictly less than the threshold.
+     */
+    BELOW;
+
+    /**
+     * Checks whether a reading value satisfies this comparison.
+     *
+     * @param value     The value of the reading.
+     * @param threshold The threshold of the rule.
+     * @return True if the value matches, false otherwise.
+     */
+    public boolean matches(int value, int threshold) {
+        return this == ABOVE ? value > threshold : value < threshold;
+    }
+}
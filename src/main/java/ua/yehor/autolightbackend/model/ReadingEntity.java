@@ -1,10 +1,7 @@
 package ua.yehor.autolightbackend.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.Id;
-import jakarta.persistence.ManyToOne;
+import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -16,6 +13,9 @@ import java.time.LocalDateTime;
  * This class defines attributes and methods related to readings.
  */
 @Entity
+@Table(indexes = @Index(name = "reading_device_id_date_time_idx", columnList = "device_id, date_time"),
+        uniqueConstraints = @UniqueConstraint(name = "reading_device_id_client_reading_id_key",
+                columnNames = {"device_id", "client_reading_id"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,9 +28,11 @@ public class ReadingEntity {
     private Long id;
 
     /**
-     * The device associated with this reading.
+     * The device associated with this reading, loaded only when accessed,
+     * so listing readings does not load their devices and users.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "device_id")
     @JsonIgnore
     private DeviceEntity device;
 
@@ -45,27 +47,53 @@ public class ReadingEntity {
     private Integer value;
 
     /**
-     * Date and time when the reading was captured.
+     * Date and time when the reading was measured, as reported by the device or else the time it was received.
      */
+    @Column(name = "date_time")
     private LocalDateTime dateTime;
 
+    /**
+     * Date and time when the reading was received by the server.
+     */
+    private LocalDateTime receivedAt;
+
+    /**
+     * Identifier the device assigned to the reading, unique per device; null if the device sent none.
+     */
+    @Column(name = "client_reading_id")
+    private String clientReadingId;
+
     /**
      * Indicates whether the reading is a warning.
      */
     private Boolean isWarning;
 
+    /**
+     * Indicates whether the reading deviated from the baseline of its device when it was received.
+     * Anomalies stay warnings when the warnings are recomputed from a changed threshold profile.
+     */
+    @Column(columnDefinition = "boolean default false not null")
+    private Boolean isAnomaly = false;
+
     /**
      * Constructs a ReadingEntity object with specified parameters.
+     * Measurement times in the future are replaced by the time of receipt, so clock skew of a device
+     * cannot place readings ahead of all others.
      *
-     * @param name      The name associated with the reading.
-     * @param value     The value of the reading.
-     * @param isWarning Indicates whether the reading is a warning.
+     * @param name            The name associated with the reading.
+     * @param value           The value of the reading.
+     * @param isWarning       Indicates whether the reading is a warning.
+     * @param clientReadingId The identifier assigned by the device, or null.
+     * @param measuredAt      The time the device measured the value, or null to use the time of receipt.
      */
-    public ReadingEntity(String name, Integer value, Boolean isWarning) {
+    public ReadingEntity(String name, Integer value, Boolean isWarning, String clientReadingId,
+                         LocalDateTime measuredAt) {
         this.name = name;
         this.value = value;
         this.isWarning = isWarning;
-        this.dateTime = LocalDateTime.now();
+        this.clientReadingId = clientReadingId;
+        this.receivedAt = LocalDateTime.now();
+        this.dateTime = measuredAt == null || measuredAt.isAfter(receivedAt) ? receivedAt : measuredAt;
     }
 
     /**
@@ -0,0 +1,73 @@
+package ua.yehor.autolightbackend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Represents the range of normal values of a reading for a specific user.
+ * Readings outside the range are classified as warnings by the server.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "threshold_profile_user_id_reading_name_key",
+        columnNames = {"user_id", "reading_name"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class ThresholdProfileEntity {
+    /**
+     * Unique identifier for the threshold profile entity.
+     */
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    /**
+     * The user the profile applies to.
+     */
+    @ManyToOne
+    @JoinColumn(name = "user_id")
+    @JsonIgnore
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private UserEntity user;
+
+    /**
+     * Name of the readings the profile applies to.
+     */
+    @Column(name = "reading_name")
+    private String readingName;
+
+    /**
+     * Lowest normal value, or null if the range has no lower bound.
+     */
+    private Integer minValue;
+
+    /**
+     * Highest normal value, or null if the range has no upper bound.
+     */
+    private Integer maxValue;
+
+    /**
+     * Constructs a ThresholdProfileEntity object for a user and a reading name.
+     *
+     * @param user        The user the profile applies to.
+     * @param readingName The name of the readings the profile applies to.
+     */
+    public ThresholdProfileEntity(UserEntity user, String readingName) {
+        this.user = user;
+        this.readingName = readingName;
+    }
+
+    /**
+     * Retrieves the login of the user the profile applies to.
+     *
+     * @return The user login.
+     */
+    public String getUserLogin() {
+        return user.getLogin();
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Email;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -16,9 +17,11 @@ import java.util.Set;
 /**
  * Represents a user entity within the system.
  * Implements UserDetails for Spring Security integration.
+ * Users and their roles are not kept in the second-level cache, which is local to each node,
+ * so a changed role or password takes effect on every node at once.
  */
 @Entity
-@Table(name = "_user")
+@Table(name = "_user", indexes = @Index(name = "user_login_idx", columnList = "login"))
 @NoArgsConstructor
 @Getter
 @Setter
@@ -34,6 +37,7 @@ public class UserEntity implements UserDetails {
     /**
      * User's login name.
      */
+    @Column(name = "login")
     private String login;
 
     /**
@@ -64,6 +68,7 @@ public class UserEntity implements UserDetails {
     @ElementCollection(targetClass = Role.class, fetch = FetchType.EAGER)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Enumerated(EnumType.STRING)
+    @BatchSize(size = 100)
     private Set<Role> roles;
 
     /**
@@ -0,0 +1,31 @@
+package ua.yehor.autolightbackend.model;
+
+/**
+ * Enum representing how a search term is matched against user login, email and phone.
+ */
+public enum UserSearchMode {
+    /**
+     * Matches values starting with the search term.
+     */
+    PREFIX,
+
+    /**
+     * Matches values containing the search term anywhere.
+     */
+    CONTAINS;
+
+    /**
+     * Builds a LIKE pattern for a search term, escaping the wildcards it contains.
+     *
+     * @param term The search term.
+     * @return The pattern matching values according to this mode, in lower case.
+     */
+    public String toPattern(String term) {
+        String escapedTerm = term.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+
+        return this == PREFIX ? escapedTerm + '%' : '%' + escapedTerm + '%';
+    }
+}
@@ -0,0 +1,338 @@
+package ua.yehor.autolightbackend.mqtt;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.moquette.broker.Server;
+import io.moquette.broker.config.IConfig;
+import io.moquette.broker.config.MemoryConfig;
+import io.moquette.interception.AbstractInterceptHandler;
+import io.moquette.interception.messages.InterceptConnectMessage;
+import io.moquette.interception.messages.InterceptConnectionLostMessage;
+import io.moquette.interception.messages.InterceptDisconnectMessage;
+import io.moquette.interception.messages.InterceptPublishMessage;
+import io.moquette.interception.messages.InterceptSubscribeMessage;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.mqtt.MqttMessageBuilders;
+import io.netty.handler.codec.mqtt.MqttQoS;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ua.yehor.autolightbackend.dto.LampCommandDto;
+import ua.yehor.autolightbackend.dto.ReadingDto;
+import ua.yehor.autolightbackend.event.DeviceKeysRevokedEvent;
+import ua.yehor.autolightbackend.event.LampLevelChangedEvent;
+import ua.yehor.autolightbackend.exception.IngestionOverloadedException;
+import ua.yehor.autolightbackend.service.LampService;
+import ua.yehor.autolightbackend.service.ReadingBatchWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Embedded MQTT broker for devices speaking MQTT natively.
+ * Readings published to device/{id}/readings are handed to the {@link ReadingBatchWriter}, like readings received
+ * over HTTP or WebSocket, and lamp level changes are published to device/{id}/lamps. The broker only routes
+ * device traffic, so it keeps its sessions in memory and does not persist messages.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MqttBroker {
+    /**
+     * Client ID the application publishes lamp commands with.
+     */
+    private static final String BROKER_CLIENT_ID = "autolight";
+
+    /**
+     * Value of a port property disabling the listener.
+     */
+    private static final String DISABLED_PORT = "disabled";
+
+    /**
+     * Authentication and authorization of connecting devices.
+     */
+    private final MqttDeviceSecurity mqttDeviceSecurity;
+
+    /**
+     * Writer saving the received readings.
+     */
+    private final ReadingBatchWriter readingBatchWriter;
+
+    /**
+     * Service providing the current state of the lamps of a subscribing device.
+     */
+    private final LampService lampService;
+
+    /**
+     * Mapper converting payloads from and to JSON.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Registry counting the readings that could not be saved.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * The broker.
+     */
+    private final Server server = new Server();
+
+    /**
+     * Device IDs of connected clients keyed by client ID.
+     */
+    private final Map<String, Long> deviceIdsByClientId = new ConcurrentHashMap<>();
+
+    /**
+     * Indicates whether the broker is started.
+     */
+    @Value("${mqtt.enabled}")
+    private boolean enabled;
+
+    /**
+     * Address the broker listens on.
+     */
+    @Value("${mqtt.host}")
+    private String host;
+
+    /**
+     * Port the broker listens on.
+     */
+    @Value("${mqtt.port}")
+    private int port;
+
+    /**
+     * Indicates whether the broker is running.
+     */
+    private volatile boolean running;
+
+    /**
+     * Starts the broker if it is enabled.
+     *
+     * @throws IOException if the broker cannot bind its port.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty(IConfig.HOST_PROPERTY_NAME, host);
+        properties.setProperty(IConfig.PORT_PROPERTY_NAME, String.valueOf(port));
+        properties.setProperty(IConfig.WEB_SOCKET_PORT_PROPERTY_NAME, DISABLED_PORT);
+        properties.setProperty(IConfig.ALLOW_ANONYMOUS_PROPERTY_NAME, Boolean.FALSE.toString());
+        properties.setProperty(IConfig.PERSISTENCE_ENABLED_PROPERTY_NAME, Boolean.FALSE.toString());
+        properties.setProperty(IConfig.ENABLE_TELEMETRY_NAME, Boolean.FALSE.toString());
+
+        server.startServer(new MemoryConfig(properties), List.of(new DeviceInterceptor()), null,
+                mqttDeviceSecurity, mqttDeviceSecurity);
+        running = true;
+        log.info("MQTT broker listening on {}:{}", host, port);
+    }
+
+    /**
+     * Stops the broker on shutdown.
+     */
+    @PreDestroy
+    public void stop() {
+        if (running) {
+            running = false;
+            server.stopServer();
+        }
+    }
+
+    /**
+     * Publishes a lamp command to the device owning a changed lamp.
+     *
+     * @param event The change of the lamp.
+     */
+    @EventListener
+    public void onLampLevelChanged(LampLevelChangedEvent event) {
+        if (running) {
+            publishLampCommand(event.deviceId(), new LampCommandDto(event.lampName(), event.lightLevel(),
+                    event.version()));
+        }
+    }
+
+    /**
+     * Disconnects the clients of a device whose keys were revoked, so the device has to authenticate again.
+     * A device holding another valid key reconnects with it.
+     *
+     * @param event The revocation of the device's keys.
+     */
+    @EventListener
+    public void onDeviceKeysRevoked(DeviceKeysRevokedEvent event) {
+        if (!running) {
+            return;
+        }
+
+        deviceIdsByClientId.forEach((clientId, deviceId) -> {
+            if (deviceId.equals(event.deviceId())) {
+                deviceIdsByClientId.remove(clientId);
+                server.disconnectClient(clientId);
+            }
+        });
+    }
+
+    /**
+     * Publishes a lamp command to the lamp topic of a device.
+     * Commands are published with QoS 1, so devices with a persistent session receive the commands
+     * published while they were disconnected.
+     *
+     * @param deviceId The ID of the device.
+     * @param command  The lamp command.
+     */
+    private void publishLampCommand(Long deviceId, LampCommandDto command) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(command);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize lamp command " + command, e);
+        }
+
+        server.internalPublish(MqttMessageBuilders.publish()
+                .topicName(MqttTopics.lamps(deviceId))
+                .qos(MqttQoS.AT_LEAST_ONCE)
+                .retained(false)
+                .payload(Unpooled.wrappedBuffer(payload))
+                .build(), BROKER_CLIENT_ID);
+    }
+
+    /**
+     * Handler of messages received by the broker, called on the broker's interceptor threads.
+     */
+    private class DeviceInterceptor extends AbstractInterceptHandler {
+        /**
+         * Reader of reading payloads, accepting a single reading as well as an array of readings.
+         */
+        private final ObjectReader readingsReader = objectMapper.readerForListOf(ReadingDto.class)
+                .with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+
+        /**
+         * Retrieves the ID of the handler.
+         *
+         * @return The ID of the handler.
+         */
+        @Override
+        public String getID() {
+            return "autolight-device-interceptor";
+        }
+
+        /**
+         * Remembers the device of a connected client, authenticated with the device ID as username.
+         *
+         * @param message The connection.
+         */
+        @Override
+        public void onConnect(InterceptConnectMessage message) {
+            deviceIdsByClientId.put(message.getClientID(), Long.valueOf(message.getUsername()));
+        }
+
+        /**
+         * Forgets a client that disconnected.
+         *
+         * @param message The disconnection.
+         */
+        @Override
+        public void onDisconnect(InterceptDisconnectMessage message) {
+            deviceIdsByClientId.remove(message.getClientID());
+        }
+
+        /**
+         * Forgets a client whose connection was lost.
+         *
+         * @param message The lost connection.
+         */
+        @Override
+        public void onConnectionLost(InterceptConnectionLostMessage message) {
+            deviceIdsByClientId.remove(message.getClientID());
+        }
+
+        /**
+         * Hands the readings of a message published to a reading topic to the writer.
+         * The device ID of every reading is replaced by the ID in the topic, which the device is authorized for.
+         * MQTT has no response to report failures with, so readings that cannot be saved are counted and logged.
+         *
+         * @param message The published message.
+         */
+        @Override
+        public void onPublish(InterceptPublishMessage message) {
+            Long deviceId = MqttTopics.readingsDeviceId(message.getTopicName());
+            if (deviceId == null) {
+                return;
+            }
+
+            List<ReadingDto> readings;
+            try {
+                readings = readingsReader.readValue((InputStream) new ByteBufInputStream(message.getPayload()));
+            } catch (IOException e) {
+                log.debug("Malformed readings from device {}", deviceId, e);
+                countDropped("malformed");
+                return;
+            }
+
+            for (ReadingDto reading : readings) {
+                try {
+                    readingBatchWriter.submit(new ReadingDto(deviceId, reading.name(), reading.value(),
+                                    reading.isWarning(), reading.clientReadingId(), reading.measuredAt()))
+                            .exceptionally(exception -> {
+                                log.debug("Cannot save reading of device {}", deviceId, exception);
+                                countDropped("failed");
+                                return null;
+                            });
+                } catch (IngestionOverloadedException e) {
+                    countDropped("overloaded");
+                }
+            }
+        }
+
+        /**
+         * Sends the current light levels of all lamps of a device subscribing to its lamp topic,
+         * so a reconnecting device catches up with the changes made while it was away.
+         *
+         * @param message The subscription.
+         */
+        @Override
+        public void onSubscribe(InterceptSubscribeMessage message) {
+            Long deviceId = MqttTopics.lampsDeviceId(message.getTopicFilter());
+            if (deviceId == null || !deviceId.toString().equals(message.getUsername())) {
+                return;
+            }
+
+            lampService.getAllDeviceLamps(deviceId).forEach(lamp -> publishLampCommand(deviceId,
+                    new LampCommandDto(lamp.getName(), lamp.getLightLevel(), lamp.getVersion())));
+        }
+
+        /**
+         * Logs an error raised while the broker processed a client session.
+         *
+         * @param error The error.
+         */
+        @Override
+        public void onSessionLoopError(Throwable error) {
+            log.warn("MQTT session failed", error);
+        }
+
+        /**
+         * Counts a reading received over MQTT that was not saved.
+         *
+         * @param reason The reason the reading was dropped.
+         */
+        private void countDropped(String reason) {
+            meterRegistry.counter("readings.mqtt.dropped", "reason", reason).increment();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ua.yehor.autolightbackend.mqtt;
+
+import io.moquette.broker.security.IAuthenticator;
+import io.moquette.broker.security.IAuthorizatorPolicy;
+import io.moquette.broker.subscriptions.Topic;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ua.yehor.autolightbackend.apikey.DeviceApiKeyService;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Authentication and authorization of devices connecting to the embedded MQTT broker.
+ * A device connects with its ID as the user name and one of its API keys as the password,
+ * checked once when it connects; afterwards it may only publish to its own reading topic
+ * and subscribe to its own lamp topic.
+ */
+@Component
+@RequiredArgsConstructor
+public class MqttDeviceSecurity implements IAuthenticator, IAuthorizatorPolicy {
+    /**
+     * Service resolving API keys to devices.
+     */
+    private final DeviceApiKeyService deviceApiKeyService;
+
+    /**
+     * Checks that the password of a connecting client is an API key of the device named by the user name.
+     *
+     * @param clientId The MQTT client ID.
+     * @param username The user name, expected to be the device ID.
+     * @param password The password, expected to be an API key of the device.
+     * @return True if the key belongs to the device, false otherwise.
+     */
+    @Override
+    public boolean checkValid(String clientId, String username, byte[] password) {
+        if (username == null || password == null) {
+            return false;
+        }
+
+        Long deviceId = deviceApiKeyService.authenticate(new String(password, StandardCharsets.UTF_8));
+        return deviceId != null && deviceId.toString().equals(username);
+    }
+
+    /**
+     * Allows a device to publish to its own reading topic only.
+     *
+     * @param topic  The topic published to.
+     * @param user   The user name of the client, which is the device ID.
+     * @param client The MQTT client ID.
+     * @return True if the topic is the reading topic of the device, false otherwise.
+     */
+    @Override
+    public boolean canWrite(Topic topic, String user, String client) {
+        Long deviceId = MqttTopics.readingsDeviceId(topic.toString());
+        return deviceId != null && deviceId.toString().equals(user);
+    }
+
+    /**
+     * Allows a device to subscribe to its own lamp topic only.
+     *
+     * @param topic  The topic subscribed to.
+     * @param user   The user name of the client, which is the device ID.
+     * @param client The MQTT client ID.
+     * @return True if the topic is the lamp topic of the device, false otherwise.
+     */
+    @Override
+    public boolean canRead(Topic topic, String user, String client) {
+        Long deviceId = MqttTopics.lampsDeviceId(topic.toString());
+        return deviceId != null && deviceId.toString().equals(user);
+    }
+}
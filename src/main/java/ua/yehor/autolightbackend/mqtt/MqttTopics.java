@@ -0,0 +1,66 @@
+package ua.yehor.autolightbackend.mqtt;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Topics of the embedded MQTT broker.
+ * Devices publish readings to device/{id}/readings and subscribe to lamp commands on device/{id}/lamps.
+ */
+final class MqttTopics {
+    /**
+     * Pattern of the reading topic of a device, capturing the device ID.
+     */
+    private static final Pattern READINGS_TOPIC = Pattern.compile("device/(\\d+)/readings");
+
+    /**
+     * Pattern of the lamp topic of a device, capturing the device ID.
+     */
+    private static final Pattern LAMPS_TOPIC = Pattern.compile("device/(\\d+)/lamps");
+
+    /**
+     * Utility class, not instantiated.
+     */
+    private MqttTopics() {
+    }
+
+    /**
+     * Builds the lamp topic of a device.
+     *
+     * @param deviceId The ID of the device.
+     * @return The topic lamp commands of the device are published to.
+     */
+    static String lamps(Long deviceId) {
+        return "device/" + deviceId + "/lamps";
+    }
+
+    /**
+     * Resolves the device a reading topic belongs to.
+     *
+     * @param topic The topic name.
+     * @return The ID of the device, or null if the topic is not a reading topic.
+     */
+    static Long readingsDeviceId(String topic) {
+        return deviceId(READINGS_TOPIC.matcher(topic));
+    }
+
+    /**
+     * Resolves the device a lamp topic belongs to.
+     *
+     * @param topic The topic name.
+     * @return The ID of the device, or null if the topic is not a lamp topic.
+     */
+    static Long lampsDeviceId(String topic) {
+        return deviceId(LAMPS_TOPIC.matcher(topic));
+    }
+
+    /**
+     * Extracts the device ID captured by a topic pattern.
+     *
+     * @param matcher The matcher of a topic pattern against a topic name.
+     * @return The ID of the device, or null if the topic does not match.
+     */
+    private static Long deviceId(Matcher matcher) {
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+}
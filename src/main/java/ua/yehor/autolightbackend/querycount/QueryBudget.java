@@ -0,0 +1,53 @@
+package ua.yehor.autolightbackend.querycount;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Budget of SQL statements a request may execute, set per endpoint with a default for all other endpoints.
+ * Endpoints are identified by their method and URI pattern, e.g. "GET /readings/warnings/{userLogin}".
+ */
+@Getter
+@Component
+public class QueryBudget {
+    /**
+     * Indicates whether statements are counted at all.
+     */
+    @Value("${queryBudget.enabled}")
+    private boolean enabled;
+
+    /**
+     * Indicates whether requests exceeding their budget are rejected instead of only logged.
+     */
+    @Value("${queryBudget.strict}")
+    private boolean strict;
+
+    /**
+     * Number of statements allowed for endpoints without a budget of their own.
+     */
+    @Value("${queryBudget.defaultLimit}")
+    private int defaultLimit;
+
+    /**
+     * Number of statements allowed per endpoint.
+     */
+    @Value("#{${queryBudget.limits}}")
+    private Map<String, Integer> limits;
+
+    /**
+     * Retrieves the number of statements allowed for an endpoint.
+     *
+     * @param endpoint The method and URI pattern of the endpoint, or null if the request was not mapped yet.
+     * @return The budget of the endpoint.
+     */
+    public int getLimit(String endpoint) {
+        if (endpoint == null) {
+            return defaultLimit;
+        }
+
+        return limits.getOrDefault(endpoint, defaultLimit);
+    }
+}
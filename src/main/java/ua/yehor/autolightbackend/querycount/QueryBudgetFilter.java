@@ -0,0 +1,106 @@
+package ua.yehor.autolightbackend.querycount;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Filter counting the SQL statements of every request, authentication and response serialization included.
+ * The counts are published as the http.server.requests.statements metric per endpoint,
+ * and requests over the budget of their endpoint are logged.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    /**
+     * URI tag of requests not mapped to an endpoint.
+     */
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    /**
+     * Budget of statements per endpoint.
+     */
+    private final QueryBudget queryBudget;
+
+    /**
+     * Counter of the statements of the current thread.
+     */
+    private final RequestQueryCounter requestQueryCounter;
+
+    /**
+     * Registry the statement counts are published to.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Counts the statements executed while the request is processed.
+     *
+     * @param request     The incoming HTTP request
+     * @param response    The HTTP response
+     * @param filterChain The filter chain for continuing the request/response flow
+     * @throws ServletException If an exception occurs within the servlet
+     * @throws IOException      If an I/O exception occurs
+     */
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestQueryCounter.Count count = requestQueryCounter.start(request);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            requestQueryCounter.finish(count);
+            report(request, count);
+        }
+    }
+
+    /**
+     * Skips counting if the query budget is disabled.
+     *
+     * @param request The incoming HTTP request
+     * @return True if statements are not counted, false otherwise
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !queryBudget.isEnabled();
+    }
+
+    /**
+     * Publishes the statement count of a finished request and logs it if the request was over its budget.
+     *
+     * @param request The finished request.
+     * @param count   The statements of the request.
+     */
+    private void report(HttpServletRequest request, RequestQueryCounter.Count count) {
+        String endpoint = count.getEndpoint();
+        String uri = endpoint == null ? UNKNOWN_URI : endpoint.substring(endpoint.indexOf(' ') + 1);
+
+        DistributionSummary.builder("http.server.requests.statements")
+                .description("SQL statements executed per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(count.getStatements());
+
+        if (count.isOverBudget() && !count.isRejected()) {
+            log.warn("{} executed {} statements, over its budget of {}",
+                    Objects.requireNonNullElse(endpoint, request.getMethod() + " " + request.getRequestURI()),
+                    count.getStatements(), count.getLimit());
+        }
+    }
+}
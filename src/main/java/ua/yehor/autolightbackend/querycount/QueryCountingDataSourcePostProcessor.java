@@ -0,0 +1,48 @@
+package ua.yehor.autolightbackend.querycount;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every DataSource in a proxy notifying the {@link RequestQueryCounter} of each executed statement,
+ * so statements are counted whether they come from Hibernate, Spring Data or plain JDBC.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+    /**
+     * Budget deciding whether statements are counted.
+     * Resolved lazily, as post-processors are created before regular beans.
+     */
+    private final ObjectProvider<QueryBudget> queryBudget;
+
+    /**
+     * Counter notified of executed statements, resolved lazily.
+     */
+    private final ObjectProvider<RequestQueryCounter> requestQueryCounter;
+
+    /**
+     * Wraps a DataSource bean in the counting proxy.
+     *
+     * @param bean     The initialized bean.
+     * @param beanName The name of the bean.
+     * @return The proxy for a DataSource if counting is enabled, the bean itself otherwise.
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource
+                || !queryBudget.getObject().isEnabled()) {
+            return bean;
+        }
+
+        return ProxyDataSourceBuilder.create(beanName, dataSource)
+                .listener(requestQueryCounter.getObject())
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+package ua.yehor.autolightbackend.querycount;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+import ua.yehor.autolightbackend.exception.QueryBudgetExceededException;
+
+import java.util.List;
+
+/**
+ * Counter of the SQL statements executed by the current thread, notified by the proxy around the DataSource.
+ * Statements are counted per request, and in the strict mode the statement exceeding the budget
+ * of the request's endpoint is rejected before it reaches the database.
+ * <p>
+ * Tests can measure any operation with {@link #countStatements(Runnable)}, e.g.
+ * {@code assertThat(requestQueryCounter.countStatements(() -> readingService.getAllUserWarnings(login))).isEqualTo(1)}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestQueryCounter implements QueryExecutionListener {
+    /**
+     * Budget of statements per endpoint.
+     */
+    private final QueryBudget queryBudget;
+
+    /**
+     * Innermost count of the current thread, null if statements are not counted.
+     */
+    private final ThreadLocal<Count> currentCount = new ThreadLocal<>();
+
+    /**
+     * Counts the statements executed by an operation.
+     *
+     * @param operation The operation.
+     * @return The number of statements executed by the operation.
+     */
+    public long countStatements(Runnable operation) {
+        Count count = start(null);
+        try {
+            operation.run();
+        } finally {
+            finish(count);
+        }
+
+        return count.getStatements();
+    }
+
+    /**
+     * Starts counting the statements of the current thread.
+     * Counts may be nested; statements are added to every enclosing count as well.
+     *
+     * @param request The request the statements belong to, or null if they are not subject to a budget.
+     * @return The new count.
+     */
+    Count start(HttpServletRequest request) {
+        Count count = new Count(request, currentCount.get());
+        currentCount.set(count);
+        return count;
+    }
+
+    /**
+     * Stops a count, making its enclosing count the current one.
+     *
+     * @param count The count started last by the current thread.
+     */
+    void finish(Count count) {
+        if (count.previous == null) {
+            currentCount.remove();
+        } else {
+            currentCount.set(count.previous);
+        }
+    }
+
+    /**
+     * Counts a statement about to be executed and checks it against the budget in the strict mode.
+     *
+     * @param executionInfo The execution of the statement.
+     * @param queryInfoList The queries of the statement.
+     * @throws QueryBudgetExceededException if the statement exceeds the budget of the current request.
+     */
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        // Every enclosing count is incremented before any budget is checked,
+        // so a rejected statement is still counted by the counts outside the rejecting one
+        for (Count count = currentCount.get(); count != null; count = count.previous) {
+            count.statements++;
+        }
+
+        if (!queryBudget.isStrict()) {
+            return;
+        }
+
+        for (Count count = currentCount.get(); count != null; count = count.previous) {
+            if (count.isOverBudget() && !count.rejected) {
+                count.rejected = true;
+                throw new QueryBudgetExceededException(count.getEndpoint() + " exceeded its budget of "
+                        + count.getLimit() + " statements");
+            }
+        }
+    }
+
+    /**
+     * Does nothing, statements are counted before they are executed.
+     *
+     * @param executionInfo The execution of the statement.
+     * @param queryInfoList The queries of the statement.
+     */
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    /**
+     * Number of statements executed within one request or operation.
+     */
+    public class Count {
+        /**
+         * The request the statements belong to, null if they are not subject to a budget.
+         */
+        private final HttpServletRequest request;
+
+        /**
+         * The enclosing count, null if this is the outermost one.
+         */
+        private final Count previous;
+
+        /**
+         * Number of statements executed so far.
+         */
+        @Getter
+        private long statements;
+
+        /**
+         * Indicates whether a statement of this count was already rejected.
+         */
+        @Getter
+        private boolean rejected;
+
+        /**
+         * Creates an empty count.
+         *
+         * @param request  The request the statements belong to, or null.
+         * @param previous The enclosing count, or null.
+         */
+        private Count(HttpServletRequest request, Count previous) {
+            this.request = request;
+            this.previous = previous;
+        }
+
+        /**
+         * Retrieves the endpoint the request was mapped to.
+         *
+         * @return The method and URI pattern of the endpoint, or null if the request was not mapped (yet).
+         */
+        public String getEndpoint() {
+            if (request == null) {
+                return null;
+            }
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return pattern == null ? null : request.getMethod() + " " + pattern;
+        }
+
+        /**
+         * Retrieves the budget of the endpoint the request was mapped to.
+         *
+         * @return The number of statements allowed.
+         */
+        public int getLimit() {
+            return queryBudget.getLimit(getEndpoint());
+        }
+
+        /**
+         * Checks whether the request executed more statements than allowed.
+         *
+         * @return True if the count belongs to a request over its budget, false otherwise.
+         */
+        public boolean isOverBudget() {
+            return request != null && statements > getLimit();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ua.yehor.autolightbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import ua.yehor.autolightbackend.model.AlertEntity;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing AlertEntity objects in the database.
+ */
+@Repository
+public interface AlertRepository extends JpaRepository<AlertEntity, Long> {
+    /**
+     * Retrieves all alerts of the devices owned by a specific user, newest first.
+     *
+     * @param userLogin The login name of the user.
+     * @return A list of AlertEntity objects of the user's devices.
+     */
+    List<AlertEntity> findAllByDeviceUserLoginOrderByCreatedAtDesc(String userLogin);
+}
@@ -0,0 +1,24 @@
+package ua.yehor.autolightbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ua.yehor.autolightbackend.model.AutomationRuleEntity;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing AutomationRuleEntity objects in the database.
+ */
+@Repository
+public interface AutomationRuleRepository extends JpaRepository<AutomationRuleEntity, Long> {
+    /**
+     * Retrieves all rules evaluated for a specific device, in creation order.
+     *
+     * @param deviceId The ID of the device.
+     * @return A list of AutomationRuleEntity objects of the device.
+     */
+    @Query("select r from AutomationRuleEntity r where r.device.id = :deviceId order by r.id")
+    List<AutomationRuleEntity> findAllByDeviceIdOrderById(@Param("deviceId") Long deviceId);
+}
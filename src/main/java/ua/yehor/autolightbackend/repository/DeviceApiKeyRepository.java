@@ -0,0 +1,35 @@
+package ua.yehor.autolightbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ua.yehor.autolightbackend.model.DeviceApiKeyEntity;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing DeviceApiKeyEntity objects in the database.
+ */
+@Repository
+public interface DeviceApiKeyRepository extends JpaRepository<DeviceApiKeyEntity, Long> {
+    /**
+     * Retrieves all API keys of a specific device.
+     *
+     * @param deviceId The ID of the device.
+     * @return A list of DeviceApiKeyEntity objects of the device.
+     */
+    @Query("select k from DeviceApiKeyEntity k where k.device.id = :deviceId")
+    List<DeviceApiKeyEntity> findAllByDeviceId(@Param("deviceId") Long deviceId);
+
+    /**
+     * Finds an API key by its ID and device.
+     *
+     * @param id       The ID of the key.
+     * @param deviceId The ID of the device.
+     * @return An Optional containing the DeviceApiKeyEntity if it exists.
+     */
+    @Query("select k from DeviceApiKeyEntity k where k.id = :id and k.device.id = :deviceId")
+    Optional<DeviceApiKeyEntity> findByIdAndDeviceId(@Param("id") Long id, @Param("deviceId") Long deviceId);
+}
@@ -1,9 +1,12 @@
 package ua.yehor.autolightbackend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ua.yehor.autolightbackend.dto.DeviceSummaryDto;
 import ua.yehor.autolightbackend.model.DeviceEntity;
-import ua.yehor.autolightbackend.model.UserEntity;
 
 import java.util.List;
 
@@ -21,11 +24,44 @@ public interface DeviceRepository extends JpaRepository<DeviceEntity, Long> {
     List<DeviceEntity> findAllByUserLogin(String userLogin);
 
     /**
-     * Finds a device by its name and associated user.
+     * Builds summaries of all devices associated with a specific user in a single query.
      *
-     * @param name The name of the device.
-     * @param user The associated UserEntity.
-     * @return The DeviceEntity with the specified name and user.
+     * @param userLogin The login name of the user.
+     * @return A list of DeviceSummaryDto objects ordered by device ID.
+     */
+    @Query("select new ua.yehor.autolightbackend.dto.DeviceSummaryDto(d.id, d.name, " +
+            "(select count(l) from LampEntity l where l.device = d), " +
+            "(select max(r.dateTime) from ReadingEntity r where r.device = d), " +
+            "(select count(r) from ReadingEntity r where r.device = d and r.isWarning = true)) " +
+            "from DeviceEntity d where d.user.login = :userLogin order by d.id")
+    List<DeviceSummaryDto> findAllSummariesByUserLogin(@Param("userLogin") String userLogin);
+
+    /**
+     * Retrieves the IDs of all devices of a user.
+     *
+     * @param userId The ID of the user.
+     * @return A list of device IDs in ascending order.
+     */
+    @Query("select d.id from DeviceEntity d where d.user.id = :userId order by d.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Retrieves the IDs of a user's devices with a specific name.
+     *
+     * @param userLogin The login name of the user.
+     * @param name      The name of the device.
+     * @return A list of device IDs in ascending order.
+     */
+    @Query("select d.id from DeviceEntity d where d.user.login = :userLogin and d.name = :name order by d.id")
+    List<Long> findIdsByUserLoginAndName(@Param("userLogin") String userLogin, @Param("name") String name);
+
+    /**
+     * Deletes a device with a single statement, without loading its collections.
+     *
+     * @param deviceId The ID of the device.
+     * @return The number of deleted devices.
      */
-    DeviceEntity findByNameAndUser(String name, UserEntity user);
+    @Modifying
+    @Query("delete from DeviceEntity d where d.id = :deviceId")
+    int deleteDevice(@Param("deviceId") Long deviceId);
 }
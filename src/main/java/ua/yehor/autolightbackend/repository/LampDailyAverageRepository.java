@@ -0,0 +1,48 @@
+package ua.yehor.autolightbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ua.yehor.autolightbackend.model.LampDailyAverageEntity;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing LampDailyAverageEntity objects in the database.
+ */
+@Repository
+public interface LampDailyAverageRepository extends JpaRepository<LampDailyAverageEntity, Long> {
+    /**
+     * Finds the average of a lamp for a specific day.
+     *
+     * @param lampId The ID of the lamp.
+     * @param day    The day of the average.
+     * @return An Optional containing the LampDailyAverageEntity if it exists.
+     */
+    Optional<LampDailyAverageEntity> findByLampIdAndDay(Long lampId, LocalDate day);
+
+    /**
+     * Retrieves the averages of a lamp within a range of days, oldest first.
+     *
+     * @param lampId The ID of the lamp.
+     * @param from   The first day of the range, inclusive.
+     * @param to     The last day of the range, inclusive.
+     * @return A list of LampDailyAverageEntity objects ordered by day.
+     */
+    List<LampDailyAverageEntity> findAllByLampIdAndDayBetweenOrderByDay(Long lampId, LocalDate from, LocalDate to);
+
+    /**
+     * Deletes the daily averages of specific lamps with a single statement.
+     *
+     * @param lampIds The IDs of the lamps.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Query("delete from LampDailyAverageEntity e where e.lampId in :lampIds")
+    int deleteAllByLampIds(@Param("lampIds") Collection<Long> lampIds);
+}
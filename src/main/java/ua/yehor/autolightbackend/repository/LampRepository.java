@@ -1,6 +1,9 @@
 package ua.yehor.autolightbackend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ua.yehor.autolightbackend.model.LampEntity;
 
@@ -26,4 +29,23 @@ public interface LampRepository extends JpaRepository<LampEntity, Long> {
      * @return A list of LampEntity objects associated with the specified device ID.
      */
     List<LampEntity> findAllByDeviceId(Long deviceId);
+
+    /**
+     * Retrieves the IDs of all lamps of a device.
+     *
+     * @param deviceId The ID of the device.
+     * @return A list of lamp IDs.
+     */
+    @Query("select l.id from LampEntity l where l.device.id = :deviceId")
+    List<Long> findIdsByDeviceId(@Param("deviceId") Long deviceId);
+
+    /**
+     * Deletes all lamps of a device with a single statement.
+     *
+     * @param deviceId The ID of the device.
+     * @return The number of deleted lamps.
+     */
+    @Modifying
+    @Query("delete from LampEntity l where l.device.id = :deviceId")
+    int deleteAllByDeviceId(@Param("deviceId") Long deviceId);
 }
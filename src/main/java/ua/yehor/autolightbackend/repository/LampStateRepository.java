@@ -0,0 +1,49 @@
+package ua.yehor.autolightbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ua.yehor.autolightbackend.model.LampStateEntity;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for the append-only log of LampStateEntity objects.
+ */
+@Repository
+public interface LampStateRepository extends JpaRepository<LampStateEntity, Long> {
+    /**
+     * Retrieves the states of a lamp recorded within a time range, oldest first.
+     *
+     * @param lampId The ID of the lamp.
+     * @param from   The start of the time range, inclusive.
+     * @param to     The end of the time range, inclusive.
+     * @return A list of LampStateEntity objects ordered by change time.
+     */
+    List<LampStateEntity> findAllByLampIdAndChangedAtBetweenOrderByChangedAt(Long lampId,
+                                                                              LocalDateTime from,
+                                                                              LocalDateTime to);
+
+    /**
+     * Retrieves the most recent state of a lamp.
+     *
+     * @param lampId The ID of the lamp.
+     * @return An Optional containing the latest LampStateEntity if any was recorded.
+     */
+    Optional<LampStateEntity> findFirstByLampIdOrderByChangedAtDesc(Long lampId);
+
+    /**
+     * Deletes the states of specific lamps with a single statement.
+     *
+     * @param lampIds The IDs of the lamps.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Query("delete from LampStateEntity e where e.lampId in :lampIds")
+    int deleteAllByLampIds(@Param("lampIds") Collection<Long> lampIds);
+}
@@ -0,0 +1,138 @@
+package ua.yehor.autolightbackend.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ua.yehor.autolightbackend.dto.ReadingPositionDto;
+import ua.yehor.autolightbackend.model.ReadingEntity;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing ReadingEntity objects in the database.
+ */
+@Repository
+public interface ReadingRepository extends JpaRepository<ReadingEntity, Long> {
+    /**
+     * Finds a reading of a device by the identifier the device assigned to it.
+     *
+     * @param deviceId        The ID of the device.
+     * @param clientReadingId The identifier assigned by the device.
+     * @return An Optional containing the ReadingEntity if it exists.
+     */
+    Optional<ReadingEntity> findByDeviceIdAndClientReadingId(Long deviceId, String clientReadingId);
+
+    /**
+     * Retrieves all readings of a device in the order they were measured,
+     * regardless of the order in which they arrived.
+     *
+     * @param deviceId The ID of the device.
+     * @return A list of ReadingEntity objects ordered by measurement time.
+     */
+    @Query("select r from ReadingEntity r where r.device.id = :deviceId order by r.dateTime, r.id")
+    List<ReadingEntity> findAllByDeviceIdInMeasurementOrder(@Param("deviceId") Long deviceId);
+
+    /**
+     * Retrieves all warnings of the devices owned by a user, most recently measured first.
+     *
+     * @param userLogin The login name of the user.
+     * @return A list of warning ReadingEntity objects ordered by measurement time, newest first.
+     */
+    @Query("select r from ReadingEntity r where r.device.user.login = :userLogin and r.isWarning = true " +
+            "order by r.dateTime desc, r.id desc")
+    List<ReadingEntity> findAllWarningsByUserLogin(@Param("userLogin") String userLogin);
+
+    /**
+     * Retrieves the positions of the first readings of a device with a specific name in measurement order.
+     *
+     * @param deviceId    The ID of the device.
+     * @param readingName The name of the readings.
+     * @param pageable    The number of positions to retrieve.
+     * @return A list of ReadingPositionDto objects ordered by measurement time and ID.
+     */
+    @Query("select new ua.yehor.autolightbackend.dto.ReadingPositionDto(r.id, r.dateTime) from ReadingEntity r " +
+            "where r.device.id = :deviceId and r.name = :readingName order by r.dateTime, r.id")
+    List<ReadingPositionDto> findFirstPositions(@Param("deviceId") Long deviceId,
+                                                @Param("readingName") String readingName,
+                                                Pageable pageable);
+
+    /**
+     * Retrieves the positions of the readings of a device with a specific name following a known position,
+     * in measurement order.
+     *
+     * @param deviceId    The ID of the device.
+     * @param readingName The name of the readings.
+     * @param afterTime   The measurement time of the last known reading.
+     * @param afterId     The ID of the last known reading.
+     * @param pageable    The number of positions to retrieve.
+     * @return A list of ReadingPositionDto objects ordered by measurement time and ID.
+     */
+    @Query("select new ua.yehor.autolightbackend.dto.ReadingPositionDto(r.id, r.dateTime) from ReadingEntity r " +
+            "where r.device.id = :deviceId and r.name = :readingName " +
+            "and (r.dateTime > :afterTime or (r.dateTime = :afterTime and r.id > :afterId)) " +
+            "order by r.dateTime, r.id")
+    List<ReadingPositionDto> findPositionsAfter(@Param("deviceId") Long deviceId,
+                                                @Param("readingName") String readingName,
+                                                @Param("afterTime") LocalDateTime afterTime,
+                                                @Param("afterId") Long afterId,
+                                                Pageable pageable);
+
+    /**
+     * Recomputes the warning flag of readings against a normal range, keeping anomalies flagged as warnings.
+     * Readings without a value are left unchanged.
+     * Each call runs in its own transaction, so large reclassifications never hold long locks.
+     *
+     * @param ids      The IDs of the readings.
+     * @param minValue The lowest normal value.
+     * @param maxValue The highest normal value.
+     * @return The number of updated readings.
+     */
+    @Modifying
+    @Transactional
+    @Query("update ReadingEntity r " +
+            "set r.isWarning = case when r.value < :minValue or r.value > :maxValue or r.isAnomaly = true " +
+            "then true else false end " +
+            "where r.id in :ids and r.value is not null")
+    int reclassifyWarnings(@Param("ids") Collection<Long> ids,
+                           @Param("minValue") int minValue,
+                           @Param("maxValue") int maxValue);
+
+    /**
+     * Retrieves the IDs of the oldest readings of a device.
+     *
+     * @param deviceId The ID of the device.
+     * @param pageable The number of IDs to retrieve.
+     * @return A list of reading IDs in ascending order.
+     */
+    @Query("select r.id from ReadingEntity r where r.device.id = :deviceId order by r.id")
+    List<Long> findIdsByDeviceId(@Param("deviceId") Long deviceId, Pageable pageable);
+
+    /**
+     * Deletes readings by their IDs with a single statement.
+     * Each call runs in its own transaction, so deleting many readings never holds long locks.
+     *
+     * @param ids The IDs of the readings.
+     * @return The number of deleted readings.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from ReadingEntity r where r.id in :ids")
+    int deleteAllByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes all readings of a device with a single statement.
+     *
+     * @param deviceId The ID of the device.
+     * @return The number of deleted readings.
+     */
+    @Modifying
+    @Query("delete from ReadingEntity r where r.device.id = :deviceId")
+    int deleteAllByDeviceId(@Param("deviceId") Long deviceId);
+}
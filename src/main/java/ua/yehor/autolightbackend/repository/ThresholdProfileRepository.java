@@ -0,0 +1,35 @@
+package ua.yehor.autolightbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ua.yehor.autolightbackend.model.ThresholdProfileEntity;
+import ua.yehor.autolightbackend.model.UserEntity;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing ThresholdProfileEntity objects in the database.
+ */
+@Repository
+public interface ThresholdProfileRepository extends JpaRepository<ThresholdProfileEntity, Long> {
+    /**
+     * Retrieves all threshold profiles of a user by their login.
+     *
+     * @param userLogin The login name of the user.
+     * @return A list of ThresholdProfileEntity objects of the user.
+     */
+    @Query("select p from ThresholdProfileEntity p where p.user.login = :userLogin")
+    List<ThresholdProfileEntity> findAllByUserLogin(@Param("userLogin") String userLogin);
+
+    /**
+     * Finds the threshold profile of a user for a specific reading name.
+     *
+     * @param user        The associated UserEntity.
+     * @param readingName The name of the reading.
+     * @return An Optional containing the ThresholdProfileEntity if it exists.
+     */
+    Optional<ThresholdProfileEntity> findByUserAndReadingName(UserEntity user, String readingName);
+}
@@ -1,9 +1,16 @@
 package ua.yehor.autolightbackend.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ua.yehor.autolightbackend.dto.UserIdentityDto;
 import ua.yehor.autolightbackend.model.UserEntity;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,6 +26,28 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
      */
     Optional<UserEntity> findByLogin(String login);
 
+    /**
+     * Resolves the IDs of users by their login names in a single query.
+     *
+     * @param logins The login names of the users.
+     * @return A list of UserIdentityDto objects for the logins that exist.
+     */
+    @Query("select new ua.yehor.autolightbackend.dto.UserIdentityDto(u.id, u.login) " +
+            "from UserEntity u where u.login in :logins")
+    List<UserIdentityDto> findIdentitiesByLoginIn(@Param("logins") Collection<String> logins);
+
+    /**
+     * Retrieves a page of users whose login, email or phone matches a pattern.
+     * Lower-case expression indexes on these columns are created by db/user-search-indexes.sql.
+     *
+     * @param pattern  The LIKE pattern in lower case, with backslash as the escape character.
+     * @param pageable The page to retrieve and its sorting.
+     * @return A page of matching UserEntity objects.
+     */
+    @Query("select u from UserEntity u where lower(u.login) like :pattern escape '\\' " +
+            "or lower(u.email) like :pattern escape '\\' or lower(u.phone) like :pattern escape '\\'")
+    Page<UserEntity> search(@Param("pattern") String pattern, Pageable pageable);
+
     /**
      * Deletes a user by their login name.
      *
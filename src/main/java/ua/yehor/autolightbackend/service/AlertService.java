@@ -0,0 +1,80 @@
+package ua.yehor.autolightbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ua.yehor.autolightbackend.model.AlertEntity;
+import ua.yehor.autolightbackend.model.DeviceEntity;
+import ua.yehor.autolightbackend.model.ReadingEntity;
+import ua.yehor.autolightbackend.repository.AlertRepository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service class responsible for alerts raised by sustained warnings of devices.
+ */
+@Service
+@RequiredArgsConstructor
+public class AlertService {
+    /**
+     * Repository for managing AlertEntity objects.
+     */
+    private final AlertRepository alertRepository;
+
+    /**
+     * Detector evaluating warning windows of devices.
+     */
+    private final WarningWindowDetector warningWindowDetector;
+
+    /**
+     * Retrieves all alerts of the devices owned by a specific user.
+     *
+     * @param userLogin The login name of the user.
+     * @return A list of AlertEntity objects, newest first.
+     */
+    public List<AlertEntity> getAllUserAlerts(String userLogin) {
+        return alertRepository.findAllByDeviceUserLoginOrderByCreatedAtDesc(userLogin);
+    }
+
+    /**
+     * Feeds a new reading into the warning window of its device and builds an alert
+     * when the window condition is met. Only memory is touched, so callers may hold a lock.
+     *
+     * @param device  The device the reading belongs to.
+     * @param reading The new reading.
+     * @return An Optional containing the unsaved AlertEntity if the window condition is met.
+     */
+    public Optional<AlertEntity> detectAlert(DeviceEntity device, ReadingEntity reading) {
+        if (!reading.isWarning()) {
+            return Optional.empty();
+        }
+
+        long timestamp = reading.getDateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        return warningWindowDetector.addWarning(device.getId(), timestamp)
+                .map(match -> new AlertEntity(device, match.warningCount(),
+                        toDateTime(match.firstTimestamp()), toDateTime(match.lastTimestamp())));
+    }
+
+    /**
+     * Saves an alert built by {@link #detectAlert}.
+     *
+     * @param alert The AlertEntity to save.
+     */
+    public void saveAlert(AlertEntity alert) {
+        alertRepository.save(alert);
+    }
+
+    /**
+     * Converts epoch milliseconds to a local date and time.
+     *
+     * @param timestamp The time in epoch milliseconds.
+     * @return The corresponding LocalDateTime.
+     */
+    private LocalDateTime toDateTime(long timestamp) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,156 @@
+package ua.yehor.autolightbackend.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ua.yehor.autolightbackend.model.AutomationRuleEntity;
+import ua.yehor.autolightbackend.model.ReadingComparison;
+import ua.yehor.autolightbackend.repository.AutomationRuleRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of automation rules compiled per device and reading name.
+ * Looking up the rules of a reading is two hash lookups, so evaluation costs
+ * only as much as the rules that can actually match.
+ * The whole index is periodically rebuilt from the database and swapped in at once,
+ * so rules changed on other nodes are picked up within the reload interval.
+ * Writers hold a lock so a reload cannot drop a concurrent local change; lookups never lock.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AutomationRuleIndex {
+    /**
+     * Repository for managing AutomationRuleEntity objects.
+     */
+    private final AutomationRuleRepository automationRuleRepository;
+
+    /**
+     * Compiled rules keyed by device ID, then by reading name.
+     * Inner maps are immutable and replaced as a whole when the rules of a device change.
+     */
+    private volatile Map<Long, Map<String, List<CompiledRule>>> rulesByDevice = new ConcurrentHashMap<>();
+
+    /**
+     * Lock held by writers of the index.
+     */
+    private final Lock writeLock = new ReentrantLock();
+
+    /**
+     * Rebuilds the index from all stored rules.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${automationRules.reloadIntervalInMilliseconds}",
+            initialDelayString = "${automationRules.reloadIntervalInMilliseconds}")
+    public void reload() {
+        writeLock.lock();
+        try {
+            Map<Long, Map<String, List<CompiledRule>>> reloaded = new ConcurrentHashMap<>();
+
+            automationRuleRepository.findAll().stream()
+                    .collect(Collectors.groupingBy(AutomationRuleEntity::getDeviceId))
+                    .forEach((deviceId, rules) -> reloaded.put(deviceId, compile(rules)));
+
+            rulesByDevice = reloaded;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Recompiles the rules of a single device after they were changed.
+     *
+     * @param deviceId The ID of the device.
+     */
+    public void reloadDevice(Long deviceId) {
+        writeLock.lock();
+        try {
+            List<AutomationRuleEntity> rules = automationRuleRepository.findAllByDeviceIdOrderById(deviceId);
+
+            if (rules.isEmpty()) {
+                rulesByDevice.remove(deviceId);
+            } else {
+                rulesByDevice.put(deviceId, compile(rules));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the rules evaluated for readings with a specific name on a specific device.
+     *
+     * @param deviceId    The ID of the device.
+     * @param readingName The name of the reading.
+     * @return A list of compiled rules, empty if none are defined.
+     */
+    public List<CompiledRule> getRules(Long deviceId, String readingName) {
+        Map<String, List<CompiledRule>> deviceRules = rulesByDevice.get(deviceId);
+
+        if (deviceRules == null) {
+            return List.of();
+        }
+
+        return deviceRules.getOrDefault(readingName, List.of());
+    }
+
+    /**
+     * Compiles the rules of one device into an immutable lookup by reading name.
+     * Incomplete rules, stored before rules were validated, are skipped.
+     *
+     * @param rules The rules of the device.
+     * @return Compiled rules keyed by reading name, preserving rule order.
+     */
+    private Map<String, List<CompiledRule>> compile(List<AutomationRuleEntity> rules) {
+        return rules.stream()
+                .filter(this::isComplete)
+                .sorted(Comparator.comparing(AutomationRuleEntity::getId))
+                .collect(Collectors.groupingBy(AutomationRuleEntity::getReadingName,
+                        Collectors.mapping(rule -> new CompiledRule(rule.getComparison(), rule.getThreshold(),
+                                        rule.getLampId(), rule.getLightLevel()),
+                                Collectors.toUnmodifiableList())));
+    }
+
+    /**
+     * Checks that a stored rule has everything needed to evaluate it.
+     *
+     * @param rule The stored rule.
+     * @return True if the rule can be compiled, false otherwise.
+     */
+    private boolean isComplete(AutomationRuleEntity rule) {
+        if (rule.getReadingName() == null || rule.getComparison() == null || rule.getThreshold() == null
+                || rule.getLightLevel() == null || rule.getLampId() == null) {
+            log.warn("Skipping incomplete automation rule {}", rule.getId());
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Compact form of an automation rule used during evaluation.
+     *
+     * @param comparison How the reading value is compared with the threshold.
+     * @param threshold  The threshold of the rule.
+     * @param lampId     The ID of the lamp changed by the rule.
+     * @param lightLevel The light level applied to the lamp.
+     */
+    public record CompiledRule(ReadingComparison comparison, int threshold, Long lampId, int lightLevel) {
+        /**
+         * Checks whether a reading value matches this rule.
+         *
+         * @param value The value of the reading.
+         * @return True if the rule matches, false otherwise.
+         */
+        public boolean matches(int value) {
+            return comparison.matches(value, threshold);
+        }
+    }
+}
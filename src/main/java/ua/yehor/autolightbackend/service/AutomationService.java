@@ -0,0 +1,124 @@
+package ua.yehor.autolightbackend.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ua.yehor.autolightbackend.dto.AutomationRuleDto;
+import ua.yehor.autolightbackend.dto.LampLevelChangeDto;
+import ua.yehor.autolightbackend.exception.InvalidAutomationRuleException;
+import ua.yehor.autolightbackend.model.AutomationRuleEntity;
+import ua.yehor.autolightbackend.model.DeviceEntity;
+import ua.yehor.autolightbackend.model.LampEntity;
+import ua.yehor.autolightbackend.model.ReadingEntity;
+import ua.yehor.autolightbackend.repository.AutomationRuleRepository;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service class responsible for automation rules adjusting lamps based on readings.
+ */
+@Service
+@RequiredArgsConstructor
+public class AutomationService {
+    /**
+     * Repository for managing AutomationRuleEntity objects.
+     */
+    private final AutomationRuleRepository automationRuleRepository;
+
+    /**
+     * Index of compiled rules used when evaluating readings.
+     */
+    private final AutomationRuleIndex automationRuleIndex;
+
+    /**
+     * Service for device-related operations.
+     */
+    private final DeviceService deviceService;
+
+    /**
+     * Retrieves all automation rules of a specific device.
+     *
+     * @param deviceId The ID of the device.
+     * @return A list of AutomationRuleEntity objects of the device.
+     */
+    public List<AutomationRuleEntity> getAllDeviceRules(Long deviceId) {
+        return automationRuleRepository.findAllByDeviceIdOrderById(deviceId);
+    }
+
+    /**
+     * Saves a new automation rule based on the provided AutomationRuleDto.
+     *
+     * @param automationRuleDto The AutomationRuleDto containing rule information.
+     * @return The list of AutomationRuleEntity objects of the device after saving.
+     * @throws EntityNotFoundException        if the device or its lamp with the given name is not found.
+     * @throws InvalidAutomationRuleException if the reading name, comparison, threshold or light level is missing.
+     */
+    public List<AutomationRuleEntity> saveRule(AutomationRuleDto automationRuleDto) {
+        if (automationRuleDto.readingName() == null || automationRuleDto.comparison() == null
+                || automationRuleDto.threshold() == null || automationRuleDto.lightLevel() == null) {
+            throw new InvalidAutomationRuleException("Automation rule " + automationRuleDto + " is incomplete");
+        }
+
+        DeviceEntity device = deviceService.getDeviceById(automationRuleDto.deviceId());
+
+        LampEntity lamp = device.getLamps().stream()
+                .filter(deviceLamp -> deviceLamp.getName().equals(automationRuleDto.lampName()))
+                .findFirst()
+                .orElseThrow(EntityNotFoundException::new);
+
+        automationRuleRepository.save(new AutomationRuleEntity(device, automationRuleDto.readingName(),
+                automationRuleDto.comparison(), automationRuleDto.threshold(), lamp, automationRuleDto.lightLevel()));
+        automationRuleIndex.reloadDevice(device.getId());
+
+        return getAllDeviceRules(device.getId());
+    }
+
+    /**
+     * Deletes an automation rule by its ID.
+     *
+     * @param ruleId The ID of the rule to delete.
+     * @throws EntityNotFoundException if the rule with the given ID is not found.
+     */
+    public void deleteRule(Long ruleId) {
+        AutomationRuleEntity rule = automationRuleRepository.findById(ruleId).orElseThrow(EntityNotFoundException::new);
+
+        automationRuleRepository.delete(rule);
+        automationRuleIndex.reloadDevice(rule.getDeviceId());
+    }
+
+    /**
+     * Determines the light level changes of the rules matching a new reading.
+     * The lamps of the device are only read, so no change is flushed with anything else in the persistence context.
+     * When several matching rules target the same lamp, the last one wins.
+     *
+     * @param device  The device the reading belongs to, with its lamps.
+     * @param reading The new reading.
+     * @return The list of changes of lamps whose light level differs from the level set by the rules.
+     */
+    public List<LampLevelChangeDto> applyRules(DeviceEntity device, ReadingEntity reading) {
+        List<AutomationRuleIndex.CompiledRule> rules = automationRuleIndex.getRules(device.getId(), reading.getName());
+
+        // Readings without a value cannot match any rule
+        if (rules.isEmpty() || reading.getValue() == null) {
+            return List.of();
+        }
+
+        Map<Long, LampEntity> lampsById = device.getLamps().stream()
+                .collect(Collectors.toMap(LampEntity::getId, Function.identity()));
+
+        Map<Long, Integer> lightLevelsByLampId = new LinkedHashMap<>();
+        for (AutomationRuleIndex.CompiledRule rule : rules) {
+            // Rules of removed lamps are skipped until the index is reloaded
+            if (lampsById.containsKey(rule.lampId()) && rule.matches(reading.getValue())) {
+                lightLevelsByLampId.put(rule.lampId(), rule.lightLevel());
+            }
+        }
+
+        return lightLevelsByLampId.entrySet().stream()
+                .filter(entry -> !Objects.equals(lampsById.get(entry.getKey()).getLightLevel(), entry.getValue()))
+                .map(entry -> new LampLevelChangeDto(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,51 @@
+package ua.yehor.autolightbackend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+import ua.yehor.autolightbackend.dto.CacheRegionStatisticsDto;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Service exposing the statistics of the Hibernate second-level and query caches.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+    /**
+     * Factory of the entity managers whose caches are reported.
+     */
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Retrieves hit, miss and put counts of every cache region.
+     * Hibernate only collects them when statistics are enabled with hibernate.generate_statistics.
+     *
+     * @return A list of CacheRegionStatisticsDto objects ordered by region name,
+     * empty if statistics are disabled.
+     */
+    public List<CacheRegionStatisticsDto> getCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return List.of();
+        }
+
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> {
+                    CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+
+                    return regionStatistics == null ? null : new CacheRegionStatisticsDto(region,
+                            regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                            regionStatistics.getPutCount(), regionStatistics.getElementCountInMemory());
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,176 @@
+package ua.yehor.autolightbackend.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.yehor.autolightbackend.apikey.DeviceApiKeyService;
+import ua.yehor.autolightbackend.dto.DeletionDeviceDto;
+import ua.yehor.autolightbackend.repository.*;
+
+import java.util.List;
+
+/**
+ * Service responsible for deleting devices with set-based statements.
+ * Readings are deleted in chunks of IDs, each in its own short transaction, and the lamps and
+ * the device itself are removed with single statements, so no collection of the device is ever loaded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeviceDeletionService {
+    /**
+     * Repository for managing DeviceEntity objects.
+     */
+    private final DeviceRepository deviceRepository;
+
+    /**
+     * Repository for managing ReadingEntity objects.
+     */
+    private final ReadingRepository readingRepository;
+
+    /**
+     * Repository for managing LampEntity objects.
+     */
+    private final LampRepository lampRepository;
+
+    /**
+     * Repository for the log of lamp states.
+     */
+    private final LampStateRepository lampStateRepository;
+
+    /**
+     * Repository for the per-day averages of lamps.
+     */
+    private final LampDailyAverageRepository lampDailyAverageRepository;
+
+    /**
+     * Template running the final deletion step in one transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Service holding the in-memory index of device API keys.
+     */
+    private final DeviceApiKeyService deviceApiKeyService;
+
+    /**
+     * Index of compiled automation rules.
+     */
+    private final AutomationRuleIndex automationRuleIndex;
+
+    /**
+     * Detector holding reading baselines per device.
+     */
+    private final ReadingAnomalyDetector readingAnomalyDetector;
+
+    /**
+     * Detector holding recent warnings per device.
+     */
+    private final WarningWindowDetector warningWindowDetector;
+
+    /**
+     * Tracker of device presence.
+     */
+    private final DevicePresenceTracker devicePresenceTracker;
+
+    /**
+     * Service buffering lamp history.
+     */
+    private final LampHistoryService lampHistoryService;
+
+    /**
+     * Recently saved client reading IDs.
+     */
+    private final RecentReadingIds recentReadingIds;
+
+    /**
+     * Number of readings deleted in one transaction.
+     */
+    @Value("${deviceDeletion.chunkSize}")
+    private int chunkSize;
+
+    /**
+     * Resolves the ID of a user's device based on the provided DeletionDeviceDto.
+     *
+     * @param deviceDto The DeletionDeviceDto containing device information for deletion.
+     * @return The ID of the device.
+     * @throws EntityNotFoundException if the user has no device with the given name.
+     */
+    public Long getDeviceId(DeletionDeviceDto deviceDto) {
+        return deviceRepository.findIdsByUserLoginAndName(deviceDto.userLogin(), deviceDto.name()).stream()
+                .findFirst()
+                .orElseThrow(EntityNotFoundException::new);
+    }
+
+    /**
+     * Deletes a device together with its readings, lamps and lamp history.
+     * The in-memory state of the device, including its keys, is only dropped once the deletion is committed,
+     * so a failed deletion leaves a working device behind.
+     *
+     * @param deviceId The ID of the device.
+     */
+    public void deleteDevice(Long deviceId) {
+        long deletedReadings = 0;
+        List<Long> readingIds;
+        while (!(readingIds = readingRepository.findIdsByDeviceId(deviceId, PageRequest.ofSize(chunkSize))).isEmpty()) {
+            deletedReadings += readingRepository.deleteAllByIds(readingIds);
+        }
+
+        List<Long> lampIds = transactionTemplate.execute(status -> {
+            List<Long> deviceLampIds = lampRepository.findIdsByDeviceId(deviceId);
+
+            // Readings added since the last chunk are removed here
+            readingRepository.deleteAllByDeviceId(deviceId);
+            if (!deviceLampIds.isEmpty()) {
+                lampStateRepository.deleteAllByLampIds(deviceLampIds);
+                lampDailyAverageRepository.deleteAllByLampIds(deviceLampIds);
+            }
+            lampRepository.deleteAllByDeviceId(deviceId);
+            deviceRepository.deleteDevice(deviceId);
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forgetDevice(deviceId, deviceLampIds);
+                }
+            });
+
+            return deviceLampIds;
+        });
+
+        log.info("Deleted device {} with {} readings and {} lamps", deviceId, deletedReadings, lampIds.size());
+    }
+
+    /**
+     * Drops the in-memory state of a deleted device.
+     *
+     * @param deviceId The ID of the device.
+     * @param lampIds  The IDs of the lamps of the device.
+     */
+    private void forgetDevice(Long deviceId, List<Long> lampIds) {
+        deviceApiKeyService.forgetDevice(deviceId);
+        lampHistoryService.forgetLamps(lampIds);
+        automationRuleIndex.reloadDevice(deviceId);
+        readingAnomalyDetector.forgetDevice(deviceId);
+        warningWindowDetector.forgetDevice(deviceId);
+        devicePresenceTracker.forgetDevice(deviceId);
+        recentReadingIds.forgetDevice(deviceId);
+    }
+
+    /**
+     * Deletes a device on the background job executor.
+     *
+     * @param deviceId The ID of the device.
+     */
+    @Async("backgroundJobExecutor")
+    public void deleteDeviceInBackground(Long deviceId) {
+        deleteDevice(deviceId);
+    }
+}
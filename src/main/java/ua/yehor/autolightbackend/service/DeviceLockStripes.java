@@ -0,0 +1,52 @@
+package ua.yehor.autolightbackend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks sequencing in-memory work per device.
+ * Devices are spread over the stripes by their ID, so memory use does not grow with the number of devices.
+ * Devices sharing a stripe only wait for each other during the short sections the locks guard.
+ */
+@Component
+public class DeviceLockStripes {
+    /**
+     * Number of stripes, rounded up to a power of two.
+     */
+    @Value("${readingIngestion.lockStripes}")
+    private int stripeCount;
+
+    /**
+     * The locks, one per stripe.
+     */
+    private Lock[] locks;
+
+    /**
+     * Creates the locks on startup.
+     */
+    @PostConstruct
+    public void createLocks() {
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+
+        locks = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Retrieves the lock of the stripe a device belongs to.
+     *
+     * @param deviceId The ID of the device.
+     * @return The lock guarding the device.
+     */
+    public Lock forDevice(Long deviceId) {
+        // Spreads sequential IDs over all stripes
+        int hash = Long.hashCode(deviceId) * 0x9E3779B9;
+        return locks[(hash ^ (hash >>> 16)) & (locks.length - 1)];
+    }
+}
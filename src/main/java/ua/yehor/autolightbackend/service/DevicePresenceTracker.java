@@ -0,0 +1,144 @@
+package ua.yehor.autolightbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ua.yehor.autolightbackend.dto.DeviceStatusDto;
+import ua.yehor.autolightbackend.event.DevicePresenceChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory table of device presence based on heartbeats and readings.
+ * Recording activity of a known device is a lock-free write of its last-seen time;
+ * a periodic sweep marks silent devices offline. Transitions are published as
+ * {@link DevicePresenceChangedEvent} application events.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DevicePresenceTracker {
+    /**
+     * Publisher of presence transition events.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Presence of devices keyed by device ID.
+     */
+    private final Map<Long, Presence> presences = new ConcurrentHashMap<>();
+
+    /**
+     * Time without activity after which a device is considered offline.
+     */
+    @Value("${devicePresence.timeoutInMilliseconds}")
+    private long timeoutInMilliseconds;
+
+    /**
+     * Time without activity after which a device is removed from the table.
+     */
+    @Value("${devicePresence.retentionInMilliseconds}")
+    private long retentionInMilliseconds;
+
+    /**
+     * Records activity of a device, bringing it online if it was offline.
+     *
+     * @param deviceId The ID of the device.
+     */
+    public void recordActivity(Long deviceId) {
+        Presence presence = presences.get(deviceId);
+
+        if (presence == null) {
+            presence = presences.computeIfAbsent(deviceId, key -> new Presence());
+        }
+
+        presence.lastSeenNanos.set(System.nanoTime());
+
+        if (!presence.online.get() && presence.online.compareAndSet(false, true)) {
+            publishTransition(deviceId, true);
+        }
+    }
+
+    /**
+     * Retrieves the status of all tracked devices.
+     *
+     * @return A list of DeviceStatusDto objects.
+     */
+    public List<DeviceStatusDto> getStatuses() {
+        long nowNanos = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<DeviceStatusDto> statuses = new ArrayList<>(presences.size());
+        presences.forEach((deviceId, presence) -> statuses.add(new DeviceStatusDto(deviceId, presence.online.get(),
+                now.minusNanos(nowNanos - presence.lastSeenNanos.get()))));
+
+        return statuses;
+    }
+
+    /**
+     * Removes a device from the table.
+     *
+     * @param deviceId The ID of the device.
+     */
+    public void forgetDevice(Long deviceId) {
+        presences.remove(deviceId);
+    }
+
+    /**
+     * Marks devices without recent activity offline and drops devices silent beyond the retention time.
+     */
+    @Scheduled(fixedDelayString = "${devicePresence.sweepIntervalInMilliseconds}")
+    public void sweep() {
+        long nowNanos = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutInMilliseconds);
+        long retentionNanos = TimeUnit.MILLISECONDS.toNanos(retentionInMilliseconds);
+
+        presences.forEach((deviceId, presence) -> {
+            long idleNanos = nowNanos - presence.lastSeenNanos.get();
+
+            if (idleNanos > timeoutNanos && presence.online.compareAndSet(true, false)) {
+                publishTransition(deviceId, false);
+            }
+
+            if (idleNanos > retentionNanos) {
+                presences.remove(deviceId, presence);
+            }
+        });
+    }
+
+    /**
+     * Publishes a presence transition of a device.
+     *
+     * @param deviceId The ID of the device.
+     * @param online   The new state of the device.
+     */
+    private void publishTransition(Long deviceId, boolean online) {
+        log.info("Device {} is {}", deviceId, online ? "online" : "offline");
+        eventPublisher.publishEvent(new DevicePresenceChangedEvent(deviceId, online));
+    }
+
+    /**
+     * Presence of one device.
+     */
+    private static final class Presence {
+        /**
+         * Value of {@link System#nanoTime()} at the last activity of the device.
+         */
+        private final AtomicLong lastSeenNanos = new AtomicLong();
+
+        /**
+         * Indicates whether the device is currently online.
+         */
+        private final AtomicBoolean online = new AtomicBoolean();
+    }
+}
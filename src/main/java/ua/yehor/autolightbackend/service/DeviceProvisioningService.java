@@ -0,0 +1,156 @@
+package ua.yehor.autolightbackend.service;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import ua.yehor.autolightbackend.dto.DeviceDto;
+import ua.yehor.autolightbackend.dto.DeviceProvisioningResultDto;
+import ua.yehor.autolightbackend.dto.DeviceProvisioningResultDto.Status;
+import ua.yehor.autolightbackend.dto.UserIdentityDto;
+import ua.yehor.autolightbackend.model.DeviceEntity;
+import ua.yehor.autolightbackend.model.UserEntity;
+import ua.yehor.autolightbackend.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service responsible for provisioning many devices at once.
+ * Rows are processed in chunks: the users of a chunk are resolved with one query and its devices
+ * are inserted with JDBC batching, without loading or cascading through user aggregates.
+ */
+@Service
+@RequiredArgsConstructor
+public class DeviceProvisioningService {
+    /**
+     * Repository to resolve users by login.
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * Entity manager used to insert devices referencing users by ID only.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Template running each chunk in its own transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Number of rows processed in one transaction.
+     */
+    @Value("${deviceProvisioning.chunkSize}")
+    private int chunkSize;
+
+    /**
+     * Provisions devices from a list of DeviceDto rows.
+     *
+     * @param devices The rows describing the devices to create.
+     * @return The list of per-row results in request order.
+     */
+    public List<DeviceProvisioningResultDto> provisionDevices(List<DeviceDto> devices) {
+        List<DeviceProvisioningResultDto> results = new ArrayList<>(devices.size());
+
+        for (int start = 0; start < devices.size(); start += chunkSize) {
+            List<DeviceDto> chunk = devices.subList(start, Math.min(start + chunkSize, devices.size()));
+            int firstRow = start + 1;
+
+            results.addAll(transactionTemplate.execute(status -> provisionChunk(chunk, firstRow)));
+        }
+
+        return results;
+    }
+
+    /**
+     * Provisions devices from a CSV file with a header row and the columns user login and device name.
+     *
+     * @param file The CSV file describing the devices to create.
+     * @return The list of per-row results in file order, not counting the header.
+     * @throws IOException            If an I/O exception occurs while processing the file
+     * @throws CsvValidationException If the CSV file doesn't adhere to CSV format
+     */
+    public List<DeviceProvisioningResultDto> provisionDevicesFromCsv(MultipartFile file)
+            throws IOException, CsvValidationException {
+        List<DeviceDto> devices = new ArrayList<>();
+
+        try (Reader reader = new InputStreamReader(file.getInputStream());
+             CSVReader csvReader = new CSVReader(reader)) {
+
+            String[] nextRecord;
+            // Skip headers
+            csvReader.readNext();
+            while ((nextRecord = csvReader.readNext()) != null) {
+                devices.add(nextRecord.length < 2
+                        ? new DeviceDto(null, null)
+                        : new DeviceDto(nextRecord[0].trim(), nextRecord[1].trim()));
+            }
+        }
+
+        return provisionDevices(devices);
+    }
+
+    /**
+     * Provisions one chunk of rows within the current transaction.
+     *
+     * @param chunk    The rows of the chunk.
+     * @param firstRow The 1-based position of the first row of the chunk.
+     * @return The list of results of the chunk.
+     */
+    private List<DeviceProvisioningResultDto> provisionChunk(List<DeviceDto> chunk, int firstRow) {
+        Set<String> logins = chunk.stream()
+                .map(DeviceDto::userLogin)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<String, Long> userIds = userRepository.findIdentitiesByLoginIn(logins).stream()
+                .collect(Collectors.toMap(UserIdentityDto::login, UserIdentityDto::id));
+
+        List<DeviceProvisioningResultDto> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            DeviceDto deviceDto = chunk.get(i);
+            int row = firstRow + i;
+
+            if (isBlank(deviceDto.userLogin()) || isBlank(deviceDto.name())) {
+                results.add(new DeviceProvisioningResultDto(row, Status.INVALID, null));
+                continue;
+            }
+
+            Long userId = userIds.get(deviceDto.userLogin());
+            if (userId == null) {
+                results.add(new DeviceProvisioningResultDto(row, Status.USER_NOT_FOUND, null));
+                continue;
+            }
+
+            DeviceEntity device = new DeviceEntity(deviceDto.name());
+            device.setUser(entityManager.getReference(UserEntity.class, userId));
+            entityManager.persist(device);
+
+            results.add(new DeviceProvisioningResultDto(row, Status.CREATED, device.getId()));
+        }
+
+        // Sends the batched inserts and keeps the persistence context small between chunks
+        entityManager.flush();
+        entityManager.clear();
+
+        return results;
+    }
+
+    /**
+     * Checks if a value is null or blank.
+     *
+     * @param value The value to check.
+     * @return True if the value is null or blank, false otherwise.
+     */
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -3,14 +3,13 @@ package ua.yehor.autolightbackend.service;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import ua.yehor.autolightbackend.dto.DeletionDeviceDto;
 import ua.yehor.autolightbackend.dto.DeviceDto;
+import ua.yehor.autolightbackend.dto.DeviceSummaryDto;
 import ua.yehor.autolightbackend.model.DeviceEntity;
 import ua.yehor.autolightbackend.model.UserEntity;
 import ua.yehor.autolightbackend.repository.DeviceRepository;
 
 import java.util.List;
-import java.util.Set;
 
 /**
  * Service class responsible for device-related operations.
@@ -49,13 +48,24 @@ public class DeviceService {
         return deviceRepository.findAllByUserLogin(userLogin);
     }
 
+    /**
+     * Retrieves summaries of all devices associated with a specific user by their login.
+     * The summaries are built by one aggregate query regardless of the number of devices.
+     *
+     * @param userLogin The login name of the user.
+     * @return A list of DeviceSummaryDto objects of the user's devices.
+     */
+    public List<DeviceSummaryDto> getAllDeviceSummariesByUserLogin(String userLogin) {
+        return deviceRepository.findAllSummariesByUserLogin(userLogin);
+    }
+
     /**
      * Saves a device based on the provided DeviceDto.
      *
      * @param deviceDto The DeviceDto containing device information.
-     * @return The set of DeviceEntity objects associated with the user after saving.
+     * @return The list of DeviceSummaryDto objects of the user's devices after saving.
      */
-    public Set<DeviceEntity> saveDevice(DeviceDto deviceDto) {
+    public List<DeviceSummaryDto> saveDevice(DeviceDto deviceDto) {
         DeviceEntity device = new DeviceEntity(deviceDto.name());
 
         UserEntity user = userService.getByLogin(deviceDto.userLogin());
@@ -63,7 +73,9 @@ public class DeviceService {
         device.setUser(user);
         user.addDevice(device);
 
-        return userService.save(user).getDevices();
+        userService.save(user);
+
+        return getAllDeviceSummariesByUserLogin(user.getLogin());
     }
 
     /**
@@ -75,18 +87,4 @@ public class DeviceService {
     public DeviceEntity saveDevice(DeviceEntity device) {
         return deviceRepository.save(device);
     }
-
-    /**
-     * Deletes a device associated with a specific user based on the provided DeletionDeviceDto.
-     *
-     * @param deviceDto The DeletionDeviceDto containing device information for deletion.
-     */
-    public void deleteDeviceFromUser(DeletionDeviceDto deviceDto) {
-        UserEntity user = userService.getByLogin(deviceDto.userLogin());
-
-        DeviceEntity device = deviceRepository.findByNameAndUser(deviceDto.name(), user);
-
-        deviceRepository.delete(device);
-        user.removeDevice(device);
-    }
 }
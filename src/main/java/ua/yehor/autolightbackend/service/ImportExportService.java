@@ -4,13 +4,20 @@ import com.opencsv.CSVReader;
 import com.opencsv.CSVWriter;
 import com.opencsv.exceptions.CsvValidationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import ua.yehor.autolightbackend.dto.UserIdentityDto;
+import ua.yehor.autolightbackend.jfr.CsvImportChunkEvent;
 import ua.yehor.autolightbackend.model.UserEntity;
 import ua.yehor.autolightbackend.repository.UserRepository;
 
 import java.io.*;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.opencsv.ICSVWriter.*;
 
@@ -25,8 +32,15 @@ public class ImportExportService {
      */
     private final UserRepository userRepository;
 
+    /**
+     * Number of rows checked and saved together while importing users.
+     */
+    @Value("${csvImport.chunkSize}")
+    private int chunkSize;
+
     /**
      * Saves users from a CSV file uploaded via MultipartFile.
+     * Rows are processed in chunks, so existing logins are checked and new users inserted once per chunk.
      *
      * @param file The CSV file containing user data
      * @throws IOException            If an I/O exception occurs while processing the file
@@ -37,18 +51,20 @@ public class ImportExportService {
              CSVReader csvReader = new CSVReader(reader)) {
 
             String[] nextRecord;
+            List<String[]> chunk = new ArrayList<>(chunkSize);
             // Skip headers
             csvReader.readNext();
             while ((nextRecord = csvReader.readNext()) != null) {
-                // Process each row and create UserEntity objects.
-                // If user already exists, then skipping him
-                if (userRepository.findByLogin(nextRecord[0]).isPresent()) {
-                    continue;
-                }
+                chunk.add(nextRecord);
 
-                UserEntity user = new UserEntity(nextRecord[0], nextRecord[1]);
+                if (chunk.size() == chunkSize) {
+                    saveUsersChunk(chunk);
+                    chunk.clear();
+                }
+            }
 
-                userRepository.save(user);
+            if (!chunk.isEmpty()) {
+                saveUsersChunk(chunk);
             }
         }
     }
@@ -83,4 +99,29 @@ public class ImportExportService {
             csvWriter.flush();
         }
     }
+
+    /**
+     * Creates the users of a chunk of CSV rows.
+     *
+     * @param rows The rows, each holding a login and a password
+     */
+    private void saveUsersChunk(List<String[]> rows) {
+        CsvImportChunkEvent event = CsvImportChunkEvent.start();
+
+        Set<String> knownLogins = userRepository.findIdentitiesByLoginIn(rows.stream().map(row -> row[0]).toList())
+                .stream()
+                .map(UserIdentityDto::login)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<UserEntity> users = new ArrayList<>();
+        for (String[] row : rows) {
+            // If user already exists or was already read from the file, then skipping him
+            if (knownLogins.add(row[0])) {
+                users.add(new UserEntity(row[0], row[1]));
+            }
+        }
+
+        userRepository.saveAll(users);
+        event.finish(rows.size(), users.size());
+    }
 }
@@ -0,0 +1,286 @@
+package ua.yehor.autolightbackend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.yehor.autolightbackend.model.LampChangeSource;
+import ua.yehor.autolightbackend.model.LampDailyAverageEntity;
+import ua.yehor.autolightbackend.model.LampEntity;
+import ua.yehor.autolightbackend.model.LampStateEntity;
+import ua.yehor.autolightbackend.repository.LampDailyAverageRepository;
+import ua.yehor.autolightbackend.repository.LampStateRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.stream.Collectors;
+
+/**
+ * Service class responsible for the light level history of lamps.
+ * Changes are buffered in memory and written in batches by a background task,
+ * so recording a change never adds a database round trip to the request that caused it.
+ * The buffer is bounded and states failing to be written are retried a limited number of times;
+ * states dropped for either reason are logged and counted in the lamp.history.dropped metric.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LampHistoryService {
+    /**
+     * Repository for the append-only log of lamp states.
+     */
+    private final LampStateRepository lampStateRepository;
+
+    /**
+     * Repository for the per-day averages of lamps.
+     */
+    private final LampDailyAverageRepository lampDailyAverageRepository;
+
+    /**
+     * Template running every flushed batch in its own transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Registry of the metric counting dropped states.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Lamp states waiting to be written to the database, oldest first.
+     * States of a failed write are put back at the head, so states of a lamp are always written in order.
+     */
+    private Deque<PendingState> pendingStates;
+
+    /**
+     * Latest committed state of each lamp, used to close the interval of the previous light level.
+     */
+    private final Map<Long, LampStateEntity> latestStates = new ConcurrentHashMap<>();
+
+    /**
+     * Maximum number of states written in one transaction.
+     */
+    @Value("${lampHistory.batchSize}")
+    private int batchSize;
+
+    /**
+     * Maximum number of states waiting to be written; changes recorded beyond it are dropped.
+     */
+    @Value("${lampHistory.maxPendingStates}")
+    private int maxPendingStates;
+
+    /**
+     * Number of failed writes after which a state is dropped instead of being retried.
+     */
+    @Value("${lampHistory.maxWriteAttempts}")
+    private int maxWriteAttempts;
+
+    /**
+     * Creates the buffer of pending states with its configured capacity.
+     */
+    @PostConstruct
+    public void createBuffer() {
+        pendingStates = new LinkedBlockingDeque<>(maxPendingStates);
+    }
+
+    /**
+     * Records the current light level of a lamp as a new state in its history.
+     *
+     * @param lamp   The lamp whose light level changed.
+     * @param source The origin of the change.
+     */
+    public void recordChange(LampEntity lamp, LampChangeSource source) {
+        LampStateEntity state = new LampStateEntity(lamp, source);
+
+        if (!pendingStates.offerLast(new PendingState(state, 0))) {
+            drop(state, "buffer_full");
+        }
+    }
+
+    /**
+     * Writes all buffered lamp states to the database in batches and updates the daily averages
+     * with the intervals closed by these states.
+     * A failed batch is put back in the buffer and retried by the next flush,
+     * except for the states that already failed the maximum number of writes, which are dropped.
+     */
+    @Scheduled(fixedDelayString = "${lampHistory.flushIntervalInMilliseconds}")
+    public void flushPendingStates() {
+        while (!pendingStates.isEmpty()) {
+            List<PendingState> batch = new ArrayList<>();
+            PendingState pendingState;
+            while (batch.size() < batchSize && (pendingState = pendingStates.pollFirst()) != null) {
+                batch.add(pendingState);
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        writeBatch(batch.stream().map(PendingState::state).collect(Collectors.toCollection(ArrayList::new))));
+            } catch (RuntimeException e) {
+                requeueFailedBatch(batch);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Discards the buffered and cached states of deleted lamps.
+     *
+     * @param lampIds The IDs of the lamps.
+     */
+    public void forgetLamps(Collection<Long> lampIds) {
+        pendingStates.removeIf(pendingState -> lampIds.contains(pendingState.state().getLampId()));
+        latestStates.keySet().removeAll(lampIds);
+    }
+
+    /**
+     * Retrieves the states of a lamp within a time range.
+     *
+     * @param lampId The ID of the lamp.
+     * @param from   The start of the time range.
+     * @param to     The end of the time range.
+     * @return A list of LampStateEntity objects ordered by change time.
+     */
+    public List<LampStateEntity> getLampHistory(Long lampId, LocalDateTime from, LocalDateTime to) {
+        return lampStateRepository.findAllByLampIdAndChangedAtBetweenOrderByChangedAt(lampId, from, to);
+    }
+
+    /**
+     * Retrieves the time-weighted daily averages of a lamp within a range of days.
+     *
+     * @param lampId The ID of the lamp.
+     * @param from   The first day of the range.
+     * @param to     The last day of the range.
+     * @return A list of LampDailyAverageEntity objects ordered by day.
+     */
+    public List<LampDailyAverageEntity> getLampDailyAverages(Long lampId, LocalDate from, LocalDate to) {
+        return lampDailyAverageRepository.findAllByLampIdAndDayBetweenOrderByDay(lampId, from, to);
+    }
+
+    /**
+     * Puts the states of a failed batch back at the head of the buffer in their original order.
+     * States that failed the maximum number of writes, or that no longer fit in the buffer, are dropped.
+     *
+     * @param batch The states of the failed batch.
+     */
+    private void requeueFailedBatch(List<PendingState> batch) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            PendingState failedState = batch.get(i);
+            int failedWrites = failedState.failedWrites() + 1;
+
+            if (failedWrites >= maxWriteAttempts) {
+                drop(failedState.state(), "write_failed");
+            } else if (!pendingStates.offerFirst(new PendingState(failedState.state().copy(), failedWrites))) {
+                drop(failedState.state(), "buffer_full");
+            }
+        }
+    }
+
+    /**
+     * Logs a state that will never be written, so it can be restored by hand, and counts it in the drop metric.
+     *
+     * @param state  The dropped state.
+     * @param reason The reason the state is dropped.
+     */
+    private void drop(LampStateEntity state, String reason) {
+        log.error("Dropped lamp state ({}): lamp {}, light level {}, changed at {}, source {}", reason,
+                state.getLampId(), state.getLightLevel(), state.getChangedAt(), state.getSource());
+        meterRegistry.counter("lamp.history.dropped", "reason", reason).increment();
+    }
+
+    /**
+     * Writes a batch of lamp states and the daily averages they change within the current transaction.
+     * The latest states are only remembered once the transaction commits,
+     * so a rolled back batch leaves them matching the database.
+     *
+     * @param batch The states to write.
+     */
+    private void writeBatch(List<LampStateEntity> batch) {
+        batch.sort(Comparator.comparing(LampStateEntity::getChangedAt));
+
+        Map<Long, LampStateEntity> batchLatestStates = new HashMap<>();
+        Map<LampDay, LampDailyAverageEntity> averages = new HashMap<>();
+        for (LampStateEntity newState : batch) {
+            LampStateEntity previousState = batchLatestStates.get(newState.getLampId());
+
+            if (previousState == null) {
+                previousState = latestStates.get(newState.getLampId());
+            }
+
+            if (previousState == null) {
+                previousState = lampStateRepository.findFirstByLampIdOrderByChangedAtDesc(newState.getLampId())
+                        .orElse(null);
+            }
+
+            if (previousState != null) {
+                addInterval(previousState, newState.getChangedAt(), averages);
+            }
+
+            batchLatestStates.put(newState.getLampId(), newState);
+        }
+
+        lampStateRepository.saveAll(batch);
+        lampDailyAverageRepository.saveAll(averages.values());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                latestStates.putAll(batchLatestStates);
+            }
+        });
+    }
+
+    /**
+     * Adds the interval during which the previous light level was held to the daily averages,
+     * splitting it at midnight when it spans several days.
+     *
+     * @param previousState The state that started the interval.
+     * @param end           The time the interval ended.
+     * @param averages      The averages updated in the current flush, keyed by lamp and day.
+     */
+    private void addInterval(LampStateEntity previousState, LocalDateTime end,
+                             Map<LampDay, LampDailyAverageEntity> averages) {
+        LocalDateTime start = previousState.getChangedAt();
+
+        while (start.isBefore(end)) {
+            LocalDate day = start.toLocalDate();
+            LocalDateTime nextDay = day.plusDays(1).atStartOfDay();
+            LocalDateTime intervalEnd = end.isBefore(nextDay) ? end : nextDay;
+            long seconds = Duration.between(start, intervalEnd).getSeconds();
+
+            averages.computeIfAbsent(new LampDay(previousState.getLampId(), day),
+                            key -> lampDailyAverageRepository.findByLampIdAndDay(key.lampId(), key.day())
+                                    .orElseGet(() -> new LampDailyAverageEntity(key.lampId(), key.day())))
+                    .addInterval(seconds * previousState.getLightLevel(), seconds);
+
+            start = intervalEnd;
+        }
+    }
+
+    /**
+     * Key identifying the average of one lamp for one day.
+     *
+     * @param lampId The ID of the lamp.
+     * @param day    The day of the average.
+     */
+    private record LampDay(Long lampId, LocalDate day) {
+    }
+
+    /**
+     * Lamp state waiting in the buffer.
+     *
+     * @param state        The state to write.
+     * @param failedWrites The number of writes of the state that failed so far.
+     */
+    private record PendingState(LampStateEntity state, int failedWrites) {
+    }
+}
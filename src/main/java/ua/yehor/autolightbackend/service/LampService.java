@@ -1,22 +1,35 @@
 package ua.yehor.autolightbackend.service;
 
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import ua.yehor.autolightbackend.dto.DeletionLampDto;
 import ua.yehor.autolightbackend.dto.LampDto;
 import ua.yehor.autolightbackend.dto.LampEditingDto;
+import ua.yehor.autolightbackend.dto.LampLevelChangeDto;
+import ua.yehor.autolightbackend.event.LampLevelChangedEvent;
+import ua.yehor.autolightbackend.exception.VersionMismatchException;
+import ua.yehor.autolightbackend.jfr.LampUpdateEvent;
 import ua.yehor.autolightbackend.model.DeviceEntity;
+import ua.yehor.autolightbackend.model.LampChangeSource;
 import ua.yehor.autolightbackend.model.LampEntity;
 import ua.yehor.autolightbackend.repository.LampRepository;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Represents a lamp entity within the system.
  * This entity contains information about a lamp's ID, association with a device,
  * name, and light level.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class LampService {
@@ -30,6 +43,27 @@ public class LampService {
      */
     private final DeviceService deviceService;
 
+    /**
+     * Service recording the light level history of lamps.
+     */
+    private final LampHistoryService lampHistoryService;
+
+    /**
+     * Publisher of lamp level change events.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Template saving every automation change in its own transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Number of attempts made by a lamp update before a conflict is reported.
+     */
+    @Value("${lampUpdates.maxAttempts}")
+    private int maxAttempts;
+
     /**
      * Retrieves all lamps present in the system.
      *
@@ -49,8 +83,21 @@ public class LampService {
         return lampRepository.findAllByDeviceId(deviceId);
     }
 
+    /**
+     * Retrieves a lamp of a device by its name.
+     *
+     * @param deviceId The ID of the device.
+     * @param name     The name of the lamp.
+     * @return The LampEntity with the given name.
+     * @throws EntityNotFoundException if the device or its lamp with the given name is not found.
+     */
+    public LampEntity getDeviceLamp(Long deviceId, String name) {
+        return findDeviceLamp(deviceService.getDeviceById(deviceId), name);
+    }
+
     /**
      * Saves a new lamp associated with a specific device.
+     * The lamp is inserted on its own, so the device row is neither updated nor locked.
      *
      * @param lampDto The LampDto object containing lamp details.
      * @return A set of LampEntity objects associated with the device after saving the new lamp.
@@ -63,40 +110,153 @@ public class LampService {
         lamp.setDevice(device);
         device.addLamp(lamp);
 
-        return deviceService.saveDevice(device).getLamps();
+        LampEntity savedLamp = lampRepository.save(lamp);
+        lampHistoryService.recordChange(savedLamp, LampChangeSource.CREATION);
+        publishChange(device.getId(), savedLamp, LampChangeSource.CREATION);
+
+        return device.getLamps();
     }
 
     /**
      * Edits the light level of a lamp associated with a specific device.
+     * Conflicting concurrent updates are retried on fresh state, unless an expected version was given.
      *
-     * @param lampEditingDto The LampEditingDto object containing lamp editing details.
-     * @return A set of LampEntity objects associated with the device after editing the lamp.
+     * @param lampEditingDto  The LampEditingDto object containing lamp editing details.
+     * @param expectedVersion The version the client last read, or null to apply the change unconditionally.
+     * @return The edited LampEntity, with its device and the device's lamps.
+     * @throws EntityNotFoundException           if the device or its lamp with the given name is not found.
+     * @throws VersionMismatchException          if the lamp version differs from the expected version.
+     * @throws OptimisticLockingFailureException if the update still conflicts after all attempts.
      */
-    public Set<LampEntity> editLamp(LampEditingDto lampEditingDto) {
-        DeviceEntity device = deviceService.getDeviceById(lampEditingDto.deviceId());
-
-        LampEntity lamp = device.getLamps().stream().filter(deviceLamp -> deviceLamp.getName().equals(lampEditingDto.name())).toList().get(0);
+    public LampEntity editLamp(LampEditingDto lampEditingDto, Long expectedVersion) {
+        LampUpdateEvent event = LampUpdateEvent.start();
+        LampEntity editedLamp = retryOnConflict(() -> {
+            LampEntity lamp = getDeviceLamp(lampEditingDto.deviceId(), lampEditingDto.name());
 
-        device.removeLamp(lamp);
+            checkVersion(lamp, expectedVersion);
+            lamp.setLightLevel(lampEditingDto.newValue());
 
-        lamp.setLightLevel(lampEditingDto.newValue());
+            LampEntity savedLamp = lampRepository.save(lamp);
+            lampHistoryService.recordChange(savedLamp, LampChangeSource.MANUAL);
 
-        device.addLamp(lamp);
+            return savedLamp;
+        });
+        event.finish(editedLamp.getId(), editedLamp.getLightLevel(), LampChangeSource.MANUAL);
+        publishChange(lampEditingDto.deviceId(), editedLamp, LampChangeSource.MANUAL);
 
-        return deviceService.saveDevice(device).getLamps();
+        return editedLamp;
     }
 
     /**
      * Removes a lamp from a specific device.
+     * Conflicting concurrent updates are retried on fresh state, unless an expected version was given.
      *
      * @param deletionLampDto The DeletionLampDto object containing details to delete the lamp.
+     * @param expectedVersion The version the client last read, or null to remove the lamp unconditionally.
+     * @return A set of LampEntity objects associated with the device after removing the lamp.
+     * @throws EntityNotFoundException           if the device or its lamp with the given name is not found.
+     * @throws VersionMismatchException          if the lamp version differs from the expected version.
+     * @throws OptimisticLockingFailureException if the removal still conflicts after all attempts.
      */
-    public Set<LampEntity> removeLampFromDevice(DeletionLampDto deletionLampDto) {
-        DeviceEntity device = deviceService.getDeviceById(deletionLampDto.deviceId());
+    public Set<LampEntity> removeLampFromDevice(DeletionLampDto deletionLampDto, Long expectedVersion) {
+        return retryOnConflict(() -> {
+            DeviceEntity device = deviceService.getDeviceById(deletionLampDto.deviceId());
 
-        LampEntity lamp = lampRepository.findByName(deletionLampDto.name());
+            LampEntity lamp = findDeviceLamp(device, deletionLampDto.name());
 
-        device.removeLamp(lamp);
-        return deviceService.saveDevice(device).getLamps();
+            checkVersion(lamp, expectedVersion);
+            device.removeLamp(lamp);
+            return deviceService.saveDevice(device).getLamps();
+        });
+    }
+
+    /**
+     * Saves the light level changes decided by automation rules.
+     * Each change is applied to the lamp read again and saved in its own transaction, so a failing change
+     * does not affect the others; a lamp changed concurrently by someone else keeps that change,
+     * as the next matching reading applies the rules again.
+     *
+     * @param changes The light level changes decided by automation rules.
+     */
+    public void saveAutomationChanges(List<LampLevelChangeDto> changes) {
+        for (LampLevelChangeDto change : changes) {
+            LampUpdateEvent event = LampUpdateEvent.start();
+            try {
+                LampEntity savedLamp = transactionTemplate.execute(status -> {
+                    LampEntity lamp = lampRepository.findById(change.lampId())
+                            .orElseThrow(EntityNotFoundException::new);
+
+                    lamp.setLightLevel(change.lightLevel());
+                    return lampRepository.save(lamp);
+                });
+                lampHistoryService.recordChange(savedLamp, LampChangeSource.AUTOMATION);
+                event.finish(savedLamp.getId(), savedLamp.getLightLevel(), LampChangeSource.AUTOMATION);
+                publishChange(savedLamp.getDevice().getId(), savedLamp, LampChangeSource.AUTOMATION);
+            } catch (OptimisticLockingFailureException | EntityNotFoundException e) {
+                log.debug("Skipping automation change of lamp {} changed or removed concurrently", change.lampId());
+            }
+        }
+    }
+
+    /**
+     * Finds a lamp among the lamps of a device by its name.
+     *
+     * @param device The device owning the lamp.
+     * @param name   The name of the lamp.
+     * @return The LampEntity with the given name.
+     * @throws EntityNotFoundException if the device has no lamp with the given name.
+     */
+    private LampEntity findDeviceLamp(DeviceEntity device, String name) {
+        return device.getLamps().stream()
+                .filter(deviceLamp -> deviceLamp.getName().equals(name))
+                .findFirst()
+                .orElseThrow(EntityNotFoundException::new);
+    }
+
+    /**
+     * Publishes the saved light level of a lamp, so it can be pushed to the device.
+     *
+     * @param deviceId The ID of the device owning the lamp.
+     * @param lamp     The saved lamp.
+     * @param source   The origin of the change.
+     */
+    private void publishChange(Long deviceId, LampEntity lamp, LampChangeSource source) {
+        eventPublisher.publishEvent(new LampLevelChangedEvent(deviceId, lamp.getName(), lamp.getLightLevel(),
+                lamp.getVersion(), source));
+    }
+
+    /**
+     * Checks that a lamp still has the version a client expects.
+     *
+     * @param lamp            The lamp to check.
+     * @param expectedVersion The expected version, or null to skip the check.
+     * @throws VersionMismatchException if the versions differ.
+     */
+    private void checkVersion(LampEntity lamp, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != lamp.getVersion()) {
+            throw new VersionMismatchException("Lamp " + lamp.getId() + " has version " + lamp.getVersion()
+                    + ", expected " + expectedVersion);
+        }
+    }
+
+    /**
+     * Runs a read-modify-write operation, repeating it while it fails with an optimistic locking conflict.
+     * A failed transaction clears the persistence context, so every attempt reads the current state again.
+     *
+     * @param operation The operation to run.
+     * @param <T>       The type of the operation result.
+     * @return The result of the first successful attempt.
+     * @throws OptimisticLockingFailureException if the last attempt also conflicts.
+     */
+    private <T> T retryOnConflict(Supplier<T> operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+            }
+        }
     }
 }
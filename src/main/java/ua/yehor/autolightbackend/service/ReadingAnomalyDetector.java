@@ -0,0 +1,260 @@
+package ua.yehor.autolightbackend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Online detector flagging readings that deviate from the recent baseline of their device.
+ * For every device and reading name it keeps an exponentially weighted moving mean and variance,
+ * updated in constant time from the reading itself without touching the database.
+ * The state is periodically written to a snapshot file and restored on startup.
+ */
+@Slf4j
+@Component
+public class ReadingAnomalyDetector {
+    /**
+     * Version of the snapshot file format.
+     */
+    private static final int SNAPSHOT_VERSION = 1;
+
+    /**
+     * Baseline state keyed by device ID and reading name.
+     */
+    private final Map<DetectorKey, Baseline> baselines = new ConcurrentHashMap<>();
+
+    /**
+     * Indicates whether anomalies are reported at all.
+     */
+    @Value("${anomalyDetection.enabled}")
+    private boolean enabled;
+
+    /**
+     * Weight of the newest reading in the moving mean and variance, between 0 and 1.
+     */
+    @Value("${anomalyDetection.smoothingFactor}")
+    private double smoothingFactor;
+
+    /**
+     * Number of standard deviations from the mean above which a reading is an anomaly.
+     */
+    @Value("${anomalyDetection.deviationLimit}")
+    private double deviationLimit;
+
+    /**
+     * Absolute deviation from the mean a reading must exceed to be an anomaly,
+     * so small changes of a nearly constant reading with a variance close to zero are not reported.
+     */
+    @Value("${anomalyDetection.minimumDeviation}")
+    private double minimumDeviation;
+
+    /**
+     * Number of readings observed before anomalies are reported for a new baseline.
+     */
+    @Value("${anomalyDetection.warmUpReadings}")
+    private long warmUpReadings;
+
+    /**
+     * Path of the snapshot file.
+     */
+    @Value("${anomalyDetection.snapshotPath}")
+    private Path snapshotPath;
+
+    /**
+     * Checks whether the value of a device reading is an anomaly, without changing the baseline.
+     *
+     * @param deviceId    The ID of the device.
+     * @param readingName The name of the reading.
+     * @param value       The value of the reading, or null if the reading has none.
+     * @return True if the value deviates from the baseline, false otherwise or if the reading has no value.
+     * @see #addValue(Long, String, Integer)
+     */
+    public boolean isAnomaly(Long deviceId, String readingName, Integer value) {
+        if (!enabled || value == null) {
+            return false;
+        }
+
+        Baseline baseline = baselines.get(new DetectorKey(deviceId, readingName));
+
+        return baseline != null && baseline.isAnomaly(value, deviationLimit, minimumDeviation, warmUpReadings);
+    }
+
+    /**
+     * Adds the value of a saved device reading to its baseline.
+     *
+     * @param deviceId    The ID of the device.
+     * @param readingName The name of the reading.
+     * @param value       The value of the reading, or null if the reading has none.
+     */
+    public void addValue(Long deviceId, String readingName, Integer value) {
+        if (!enabled || value == null) {
+            return;
+        }
+
+        baselines.computeIfAbsent(new DetectorKey(deviceId, readingName), key -> new Baseline())
+                .add(value, smoothingFactor);
+    }
+
+    /**
+     * Removes the baselines of a device.
+     *
+     * @param deviceId The ID of the device.
+     */
+    public void forgetDevice(Long deviceId) {
+        baselines.keySet().removeIf(key -> key.deviceId() == deviceId);
+    }
+
+    /**
+     * Restores the baselines from the snapshot file if it exists.
+     */
+    @PostConstruct
+    public void restoreSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            return;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (input.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Ignoring anomaly detector snapshot {} with unknown version", snapshotPath);
+                return;
+            }
+
+            int size = input.readInt();
+            for (int i = 0; i < size; i++) {
+                DetectorKey key = new DetectorKey(input.readLong(), input.readUTF());
+                Baseline baseline = new Baseline();
+                baseline.mean = input.readDouble();
+                baseline.variance = input.readDouble();
+                baseline.count = input.readLong();
+                baselines.put(key, baseline);
+            }
+        } catch (IOException e) {
+            log.warn("Cannot restore anomaly detector snapshot {}", snapshotPath, e);
+        }
+    }
+
+    /**
+     * Writes the baselines to the snapshot file, replacing the previous snapshot atomically.
+     */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${anomalyDetection.snapshotIntervalInMilliseconds}",
+            initialDelayString = "${anomalyDetection.snapshotIntervalInMilliseconds}")
+    public void writeSnapshot() {
+        Path temporaryPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryPath)))) {
+            Map<DetectorKey, Baseline> copy = Map.copyOf(baselines);
+
+            output.writeInt(SNAPSHOT_VERSION);
+            output.writeInt(copy.size());
+            for (Map.Entry<DetectorKey, Baseline> entry : copy.entrySet()) {
+                // Copied under the monitor but written outside it, so file I/O never pins a virtual thread
+                Baseline baseline = entry.getValue().copy();
+
+                output.writeLong(entry.getKey().deviceId());
+                output.writeUTF(entry.getKey().readingName());
+                output.writeDouble(baseline.mean);
+                output.writeDouble(baseline.variance);
+                output.writeLong(baseline.count);
+            }
+        } catch (IOException e) {
+            log.warn("Cannot write anomaly detector snapshot {}", temporaryPath, e);
+            return;
+        }
+
+        try {
+            Files.move(temporaryPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Cannot replace anomaly detector snapshot {}", snapshotPath, e);
+        }
+    }
+
+    /**
+     * Key identifying the baseline of one reading name on one device.
+     *
+     * @param deviceId    The ID of the device.
+     * @param readingName The name of the reading.
+     */
+    private record DetectorKey(long deviceId, String readingName) {
+    }
+
+    /**
+     * Exponentially weighted moving mean and variance of a reading, held in primitive fields.
+     */
+    private static final class Baseline {
+        /**
+         * Moving mean of the values.
+         */
+        private double mean;
+
+        /**
+         * Moving variance of the values.
+         */
+        private double variance;
+
+        /**
+         * Number of values observed.
+         */
+        private long count;
+
+        /**
+         * Creates a consistent copy of the baseline.
+         *
+         * @return The copy.
+         */
+        private synchronized Baseline copy() {
+            Baseline copy = new Baseline();
+            copy.mean = mean;
+            copy.variance = variance;
+            copy.count = count;
+            return copy;
+        }
+
+        /**
+         * Checks a value against the baseline.
+         *
+         * @param value            The value of the reading.
+         * @param deviationLimit   Number of standard deviations above which the value is an anomaly.
+         * @param minimumDeviation Absolute deviation the value must exceed to be an anomaly.
+         * @param warmUpReadings   Number of values observed before anomalies are reported.
+         * @return True if the value is an anomaly, false otherwise.
+         */
+        private synchronized boolean isAnomaly(int value, double deviationLimit, double minimumDeviation,
+                                               long warmUpReadings) {
+            double deviation = value - mean;
+
+            return count > 0 && count >= warmUpReadings && Math.abs(deviation) > minimumDeviation
+                    && deviation * deviation > deviationLimit * deviationLimit * variance;
+        }
+
+        /**
+         * Adds a value to the baseline.
+         *
+         * @param value           The value of the reading.
+         * @param smoothingFactor Weight of the value in the new mean and variance.
+         */
+        private synchronized void add(int value, double smoothingFactor) {
+            if (count == 0) {
+                mean = value;
+                count = 1;
+                return;
+            }
+
+            double deviation = value - mean;
+            double increment = smoothingFactor * deviation;
+            mean += increment;
+            variance = (1 - smoothingFactor) * (variance + deviation * increment);
+            count++;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package ua.yehor.autolightbackend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ua.yehor.autolightbackend.dto.ReadingDto;
+import ua.yehor.autolightbackend.exception.IngestionOverloadedException;
+import ua.yehor.autolightbackend.model.ReadingEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writer of readings submitted asynchronously.
+ * Submitted readings wait in a bounded queue and are saved by a few writer threads, so request threads
+ * return to the server as soon as a reading is queued, and the number of connections held open by devices
+ * is independent of the number of threads. Every writer drains the queue in batches and saves a batch
+ * within one persistence context, so the device of consecutive readings is loaded once per batch,
+ * and the new readings of the batch are inserted in one transaction.
+ * Saved readings are detached at once, so the context only holds the devices of the batch
+ * and the dirty check of every flush does not grow with the number of readings already saved.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReadingBatchWriter {
+    /**
+     * Time a writer waits for a reading before checking whether it should stop.
+     */
+    private static final long POLL_TIMEOUT_MILLISECONDS = 100;
+
+    /**
+     * Time given to writers to save the queued readings on shutdown.
+     */
+    private static final long SHUTDOWN_TIMEOUT_MILLISECONDS = 10000;
+
+    /**
+     * Service saving the readings.
+     */
+    private final ReadingService readingService;
+
+    /**
+     * Factory of the persistence contexts batches are saved in.
+     */
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Registry the queue size is published to.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Writer threads saving the queued readings.
+     */
+    private final List<Thread> writers = new ArrayList<>();
+
+    /**
+     * Maximum number of readings waiting to be saved.
+     */
+    @Value("${readingIngestion.asyncQueueCapacity}")
+    private int queueCapacity;
+
+    /**
+     * Maximum number of readings saved within one persistence context and one transaction.
+     */
+    @Value("${readingIngestion.asyncBatchSize}")
+    private int batchSize;
+
+    /**
+     * Number of writer threads.
+     */
+    @Value("${readingIngestion.asyncWriterThreads}")
+    private int writerThreads;
+
+    /**
+     * Indicates whether writers run on virtual threads.
+     */
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreads;
+
+    /**
+     * Readings waiting to be saved.
+     */
+    private BlockingQueue<PendingReading> queue;
+
+    /**
+     * Indicates whether new readings are accepted.
+     */
+    private volatile boolean running;
+
+    /**
+     * Creates the queue and starts the writer threads.
+     */
+    @PostConstruct
+    public void startWriters() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("readings.ingestion.queue", queue, BlockingQueue::size)
+                .description("Readings waiting to be saved by the asynchronous ingestion")
+                .register(meterRegistry);
+
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("reading-writer-", 0).factory()
+                : Thread.ofPlatform().name("reading-writer-", 0).factory();
+
+        running = true;
+        for (int i = 0; i < writerThreads; i++) {
+            Thread writer = threadFactory.newThread(this::writeReadings);
+            writers.add(writer);
+            writer.start();
+        }
+    }
+
+    /**
+     * Queues a reading to be saved.
+     *
+     * @param readingDto The ReadingDto containing reading information.
+     * @return A future completed with the saved ReadingEntity, or with the exception raised while saving it.
+     * @throws IngestionOverloadedException if the queue is full or the writer is stopping.
+     */
+    public CompletableFuture<ReadingEntity> submit(ReadingDto readingDto) {
+        PendingReading pendingReading = new PendingReading(readingDto, new CompletableFuture<>());
+
+        if (!running || !queue.offer(pendingReading)) {
+            throw new IngestionOverloadedException("Reading queue of " + queueCapacity + " readings is full");
+        }
+
+        return pendingReading.result();
+    }
+
+    /**
+     * Stops accepting readings and waits for the writers to save the queued ones.
+     *
+     * @throws InterruptedException if interrupted while waiting for the writers.
+     */
+    @PreDestroy
+    public void stopWriters() throws InterruptedException {
+        running = false;
+
+        for (Thread writer : writers) {
+            writer.join(SHUTDOWN_TIMEOUT_MILLISECONDS);
+        }
+    }
+
+    /**
+     * Loop of a writer thread, saving batches of queued readings until the writer is stopped and the queue is empty.
+     */
+    private void writeReadings() {
+        List<PendingReading> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingReading first = queue.poll(POLL_TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Saves a batch of readings within one persistence context, bound to the thread as for a web request.
+     * A failing reading does not affect the others, and every reading is detached once saved.
+     *
+     * @param batch The readings to save.
+     */
+    private void writeBatch(List<PendingReading> batch) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+
+        try {
+            List<CompletableFuture<ReadingEntity>> results = readingService.saveReadings(batch.stream()
+                    .map(PendingReading::readingDto)
+                    .toList());
+
+            for (int i = 0; i < batch.size(); i++) {
+                PendingReading pendingReading = batch.get(i);
+                results.get(i).whenComplete((savedReading, e) -> {
+                    if (e != null) {
+                        log.debug("Cannot save reading of device {}", pendingReading.readingDto().deviceId(), e);
+                        pendingReading.result().completeExceptionally(e);
+                    } else {
+                        entityManager.detach(savedReading);
+                        pendingReading.result().complete(savedReading);
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cannot save batch of {} readings", batch.size(), e);
+            batch.forEach(pendingReading -> pendingReading.result().completeExceptionally(e));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    /**
+     * A reading waiting to be saved.
+     *
+     * @param readingDto The ReadingDto containing reading information.
+     * @param result     The future completed once the reading is saved.
+     */
+    private record PendingReading(ReadingDto readingDto, CompletableFuture<ReadingEntity> result) {
+    }
+}
@@ -0,0 +1,67 @@
+package ua.yehor.autolightbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import ua.yehor.autolightbackend.dto.ReadingPositionDto;
+import ua.yehor.autolightbackend.repository.DeviceRepository;
+import ua.yehor.autolightbackend.repository.ReadingRepository;
+
+import java.util.List;
+
+/**
+ * Background job recomputing the warning flag of stored readings after a threshold profile changes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReadingReclassificationJob {
+    /**
+     * Repository for managing ReadingEntity objects.
+     */
+    private final ReadingRepository readingRepository;
+
+    /**
+     * Repository for managing DeviceEntity objects.
+     */
+    private final DeviceRepository deviceRepository;
+
+    /**
+     * Number of readings updated in one transaction.
+     */
+    @Value("${readingReclassification.batchSize}")
+    private int batchSize;
+
+    /**
+     * Reclassifies a user's readings with a specific name, walking the readings of each of the user's devices
+     * in measurement order along the device and measurement time index.
+     *
+     * @param userId      The ID of the user owning the devices.
+     * @param readingName The name of the readings.
+     * @param threshold   The new normal range of the readings.
+     */
+    @Async("backgroundJobExecutor")
+    public void reclassify(Long userId, String readingName, ThresholdProfileIndex.Threshold threshold) {
+        Pageable batch = PageRequest.of(0, batchSize);
+
+        long updated = 0;
+        for (Long deviceId : deviceRepository.findIdsByUserId(userId)) {
+            List<ReadingPositionDto> positions = readingRepository.findFirstPositions(deviceId, readingName, batch);
+
+            while (!positions.isEmpty()) {
+                List<Long> ids = positions.stream().map(ReadingPositionDto::id).toList();
+                updated += readingRepository.reclassifyWarnings(ids, threshold.minValue(), threshold.maxValue());
+
+                ReadingPositionDto last = positions.get(positions.size() - 1);
+                positions = readingRepository.findPositionsAfter(deviceId, readingName, last.dateTime(), last.id(),
+                        batch);
+            }
+        }
+
+        log.info("Reclassified {} '{}' readings of user {}", updated, readingName, userId);
+    }
+}
@@ -1,13 +1,23 @@
 package ua.yehor.autolightbackend.service;
 
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import ua.yehor.autolightbackend.dto.ReadingDto;
+import ua.yehor.autolightbackend.exception.ReadingInProgressException;
+import ua.yehor.autolightbackend.jfr.ReadingPersistenceEvent;
+import ua.yehor.autolightbackend.model.AlertEntity;
 import ua.yehor.autolightbackend.model.DeviceEntity;
 import ua.yehor.autolightbackend.model.ReadingEntity;
+import ua.yehor.autolightbackend.repository.ReadingRepository;
 
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Service class responsible for reading-related operations.
@@ -20,45 +30,332 @@ public class ReadingService {
      */
     private final DeviceService deviceService;
 
+    /**
+     * Service evaluating automation rules on new readings.
+     */
+    private final AutomationService automationService;
+
+    /**
+     * Index of threshold profiles classifying readings as warnings.
+     */
+    private final ThresholdProfileIndex thresholdProfileIndex;
+
+    /**
+     * Detector of readings deviating from the baseline of their device.
+     */
+    private final ReadingAnomalyDetector readingAnomalyDetector;
+
+    /**
+     * Service raising alerts on sustained warnings.
+     */
+    private final AlertService alertService;
+
+    /**
+     * Tracker of device presence, updated by every reading.
+     */
+    private final DevicePresenceTracker devicePresenceTracker;
+
+    /**
+     * Repository for inserting ReadingEntity objects.
+     */
+    private final ReadingRepository readingRepository;
+
+    /**
+     * Service saving lamps changed by automation rules.
+     */
+    private final LampService lampService;
+
+    /**
+     * Locks sequencing the in-memory stages of readings per device.
+     */
+    private final DeviceLockStripes deviceLockStripes;
+
+    /**
+     * Recently saved client reading IDs, recognizing retries of devices.
+     */
+    private final RecentReadingIds recentReadingIds;
+
+    /**
+     * Template inserting the new readings of a batch in one transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
     /**
      * Retrieves all readings associated with a specific device by its ID.
      *
      * @param deviceId The ID of the device.
-     * @return A set of ReadingEntity objects associated with the device.
+     * @return A list of ReadingEntity objects of the device ordered by measurement time.
+     * @throws EntityNotFoundException if the device with the given ID is not found.
      */
-    public Set<ReadingEntity> getAllDeviceReadings(Long deviceId) {
+    public List<ReadingEntity> getAllDeviceReadings(Long deviceId) {
         DeviceEntity device = deviceService.getDeviceById(deviceId);
 
-        return device.getReadings();
+        return readingRepository.findAllByDeviceIdInMeasurementOrder(device.getId());
     }
 
     /**
      * Saves a reading based on the provided ReadingDto.
+     * The warning flag is computed from the user's threshold profile when one exists,
+     * otherwise the flag supplied by the device is kept. Readings deviating from the device's
+     * own baseline are marked as warnings as well.
+     * <p>
+     * The reading is inserted on its own, so concurrent readings of one device never update or lock
+     * the device row. Only the in-memory stages whose result depends on the order of readings run
+     * under the lock of the device's stripe.
+     * Lamps changed by automation rules matching the reading are saved after it.
+     * The anomaly baseline and the warning window only take the reading in once it is inserted,
+     * so a reading lost to a concurrent insert of the same client reading ID is never counted.
+     * <p>
+     * A reading with a client reading ID that was already saved for the device is not saved again;
+     * the earlier reading is returned instead. The ID is reserved before the reading is processed,
+     * and IDs not among the recently saved ones are looked up in the database, so a retry never reaches
+     * the detectors a second time.
      *
      * @param readingDto The ReadingDto containing reading information.
-     * @return The set of ReadingEntity objects associated with the device after saving.
+     * @return The saved ReadingEntity.
+     * @throws ReadingInProgressException if a reading with the same client reading ID is being saved right now.
      */
-    public Set<ReadingEntity> saveReading(ReadingDto readingDto) {
-        ReadingEntity reading = new ReadingEntity(readingDto.name(), readingDto.value(), readingDto.isWarning());
-
+    public ReadingEntity saveReading(ReadingDto readingDto) {
         DeviceEntity device = deviceService.getDeviceById(readingDto.deviceId());
+        devicePresenceTracker.recordActivity(device.getId());
 
-        reading.setDevice(device);
-        device.addReading(reading);
+        String clientReadingId = readingDto.clientReadingId();
+        if (clientReadingId == null) {
+            return processReading(device, readingDto);
+        }
+
+        ReadingEntity earlierReading = reserveClientReadingId(device, clientReadingId);
+        if (earlierReading != null) {
+            return earlierReading;
+        }
 
-        return deviceService.saveDevice(device).getReadings();
+        try {
+            ReadingEntity savedReading = processReading(device, readingDto);
+            recentReadingIds.complete(device.getId(), clientReadingId, savedReading.getId());
+
+            return savedReading;
+        } catch (RuntimeException e) {
+            recentReadingIds.release(device.getId(), clientReadingId);
+            throw e;
+        }
+    }
+
+    /**
+     * Saves a batch of readings, inserting all readings not saved before in a single transaction
+     * whose statements are sent in JDBC batches.
+     * Every reading is classified, deduplicated and evaluated as by {@link #saveReading}, and a reading
+     * that cannot be saved fails on its own. When the insert fails, typically because another node saved
+     * one of the client reading IDs in the meantime, the new readings are saved one by one instead,
+     * which returns the earlier reading for the duplicate.
+     *
+     * @param readingDtos The ReadingDto objects containing reading information.
+     * @return Futures completed with the saved ReadingEntity of every reading, in the order of the readings,
+     * or with the exception that prevented saving it.
+     */
+    public List<CompletableFuture<ReadingEntity>> saveReadings(List<ReadingDto> readingDtos) {
+        List<CompletableFuture<ReadingEntity>> results = new ArrayList<>();
+        List<Integer> newReadingIndexes = new ArrayList<>();
+        List<ReadingEntity> newReadings = new ArrayList<>();
+
+        for (ReadingDto readingDto : readingDtos) {
+            CompletableFuture<ReadingEntity> result = new CompletableFuture<>();
+            results.add(result);
+
+            try {
+                DeviceEntity device = deviceService.getDeviceById(readingDto.deviceId());
+                devicePresenceTracker.recordActivity(device.getId());
+
+                ReadingEntity earlierReading = readingDto.clientReadingId() == null ? null
+                        : reserveClientReadingId(device, readingDto.clientReadingId());
+                if (earlierReading != null) {
+                    result.complete(earlierReading);
+                } else {
+                    newReadingIndexes.add(results.size() - 1);
+                    newReadings.add(classifyReading(device, readingDto));
+                }
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        if (newReadings.isEmpty()) {
+            return results;
+        }
+
+        List<ReadingPersistenceEvent> events = newReadings.stream().map(reading -> ReadingPersistenceEvent.start())
+                .toList();
+        List<ReadingEntity> savedReadings;
+        try {
+            savedReadings = transactionTemplate.execute(status -> readingRepository.saveAll(newReadings));
+        } catch (RuntimeException e) {
+            for (int i = 0; i < newReadings.size(); i++) {
+                ReadingDto readingDto = readingDtos.get(newReadingIndexes.get(i));
+                CompletableFuture<ReadingEntity> result = results.get(newReadingIndexes.get(i));
+                releaseClientReadingId(newReadings.get(i));
+
+                if (e instanceof DataIntegrityViolationException) {
+                    try {
+                        result.complete(saveReading(readingDto));
+                    } catch (RuntimeException readingException) {
+                        result.completeExceptionally(readingException);
+                    }
+                } else {
+                    result.completeExceptionally(e);
+                }
+            }
+            return results;
+        }
+
+        for (int i = 0; i < savedReadings.size(); i++) {
+            ReadingEntity savedReading = savedReadings.get(i);
+            CompletableFuture<ReadingEntity> result = results.get(newReadingIndexes.get(i));
+
+            try {
+                evaluateReading(savedReading.getDevice(), savedReading);
+                if (savedReading.getClientReadingId() != null) {
+                    recentReadingIds.complete(savedReading.getDevice().getId(), savedReading.getClientReadingId(),
+                            savedReading.getId());
+                }
+                events.get(i).finish(savedReading.getDevice().getId(), savedReading.getName(), false);
+                result.complete(savedReading);
+            } catch (RuntimeException e) {
+                releaseClientReadingId(savedReading);
+                result.completeExceptionally(e);
+            }
+        }
+
+        return results;
     }
 
     /**
      * Retrieves all warning readings associated with devices owned by a specific user.
      *
      * @param userLogin The login name of the user.
-     * @return A set of ReadingEntity objects considered as warnings for the user's devices.
+     * @return A list of warning ReadingEntity objects of the user's devices, most recently measured first.
+     */
+    public List<ReadingEntity> getAllUserWarnings(String userLogin) {
+        return readingRepository.findAllWarningsByUserLogin(userLogin);
+    }
+
+    /**
+     * Reserves the client reading ID of a reading and looks up the reading saved earlier with the same ID,
+     * first among the recently saved IDs, then in the database.
+     *
+     * @param device          The device the reading belongs to.
+     * @param clientReadingId The identifier assigned by the device.
+     * @return The earlier reading, or null if no reading was saved with the ID and the ID is now reserved.
+     * @throws ReadingInProgressException if a reading with the same client reading ID is being saved right now.
+     */
+    private ReadingEntity reserveClientReadingId(DeviceEntity device, String clientReadingId) {
+        Long recentReadingId = recentReadingIds.reserve(device.getId(), clientReadingId);
+        if (RecentReadingIds.PENDING.equals(recentReadingId)) {
+            throw new ReadingInProgressException("Reading " + clientReadingId + " of device " + device.getId()
+                    + " is being saved");
+        }
+        if (recentReadingId != null) {
+            Optional<ReadingEntity> recentReading = readingRepository.findById(recentReadingId);
+            if (recentReading.isPresent()) {
+                return recentReading.get();
+            }
+        }
+
+        try {
+            Optional<ReadingEntity> earlierReading = readingRepository.findByDeviceIdAndClientReadingId(
+                    device.getId(), clientReadingId);
+            earlierReading.ifPresent(reading ->
+                    recentReadingIds.complete(device.getId(), clientReadingId, reading.getId()));
+
+            return earlierReading.orElse(null);
+        } catch (RuntimeException e) {
+            recentReadingIds.release(device.getId(), clientReadingId);
+            throw e;
+        }
+    }
+
+    /**
+     * Releases the reserved client reading ID of a reading that was not saved, so a retry can save it.
+     *
+     * @param reading The reading.
+     */
+    private void releaseClientReadingId(ReadingEntity reading) {
+        if (reading.getClientReadingId() != null) {
+            recentReadingIds.release(reading.getDevice().getId(), reading.getClientReadingId());
+        }
+    }
+
+    /**
+     * Classifies, saves and evaluates a reading that was not saved before.
+     *
+     * @param device     The device the reading belongs to.
+     * @param readingDto The ReadingDto containing reading information.
+     * @return The saved ReadingEntity, or the earlier reading if another node saved the same client reading ID.
      */
-    public Set<ReadingEntity> getAllUserWarnings(String userLogin) {
-        return deviceService.getAllDevicesByUserLogin(userLogin).stream()
-                .flatMap(device -> device.getReadings().stream())
-                .filter(ReadingEntity::isWarning)
-                .collect(Collectors.toSet());
+    private ReadingEntity processReading(DeviceEntity device, ReadingDto readingDto) {
+        String clientReadingId = readingDto.clientReadingId();
+        ReadingEntity reading = classifyReading(device, readingDto);
+
+        ReadingPersistenceEvent event = ReadingPersistenceEvent.start();
+        ReadingEntity savedReading;
+        try {
+            savedReading = readingRepository.save(reading);
+        } catch (DataIntegrityViolationException e) {
+            // A retry racing with the original on another node hits the unique index
+            if (clientReadingId == null) {
+                throw e;
+            }
+
+            ReadingEntity earlierReading = readingRepository.findByDeviceIdAndClientReadingId(device.getId(),
+                    clientReadingId).orElseThrow(() -> e);
+            event.finish(device.getId(), reading.getName(), true);
+            return earlierReading;
+        }
+
+        evaluateReading(device, savedReading);
+        event.finish(device.getId(), reading.getName(), false);
+
+        return savedReading;
+    }
+
+    /**
+     * Builds an unsaved reading, classified by the threshold profile of the user and the anomaly baseline
+     * of the device. The baseline itself is left unchanged until the reading is saved.
+     *
+     * @param device     The device the reading belongs to.
+     * @param readingDto The ReadingDto containing reading information.
+     * @return The unsaved ReadingEntity.
+     */
+    private ReadingEntity classifyReading(DeviceEntity device, ReadingDto readingDto) {
+        Boolean isWarning = thresholdProfileIndex.classify(device.getUser().getId(), readingDto.name(), readingDto.value());
+        boolean isAnomaly = readingAnomalyDetector.isAnomaly(device.getId(), readingDto.name(), readingDto.value());
+
+        ReadingEntity reading = new ReadingEntity(readingDto.name(), readingDto.value(),
+                Boolean.TRUE.equals(isWarning != null ? isWarning : readingDto.isWarning()) || isAnomaly,
+                readingDto.clientReadingId(), readingDto.measuredAt());
+        reading.setIsAnomaly(isAnomaly);
+        reading.setDevice(device);
+
+        return reading;
+    }
+
+    /**
+     * Feeds a saved reading into the anomaly baseline and the warning window of its device,
+     * then saves the lamps changed by automation rules and the alert raised by the reading.
+     *
+     * @param device       The device the reading belongs to.
+     * @param savedReading The saved reading.
+     */
+    private void evaluateReading(DeviceEntity device, ReadingEntity savedReading) {
+        Optional<AlertEntity> alert;
+        Lock lock = deviceLockStripes.forDevice(device.getId());
+        lock.lock();
+        try {
+            readingAnomalyDetector.addValue(device.getId(), savedReading.getName(), savedReading.getValue());
+            alert = alertService.detectAlert(device, savedReading);
+        } finally {
+            lock.unlock();
+        }
+
+        lampService.saveAutomationChanges(automationService.applyRules(device, savedReading));
+        alert.ifPresent(alertService::saveAlert);
     }
 }
@@ -0,0 +1,117 @@
+package ua.yehor.autolightbackend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Bounded set of recently saved client reading IDs, mapping each to the ID of the saved reading.
+ * Retries of recent readings are recognized without a database round trip; older retries
+ * are caught by the unique index on device and client reading ID.
+ * A client reading ID is reserved before its reading is processed, so a retry racing with the original
+ * sees the reservation instead of processing the reading a second time.
+ * The oldest entries are evicted first once the capacity is exceeded. Reservations are never evicted,
+ * as a retry could then process their reading a second time; they are moved to the back of the eviction order
+ * instead, so the set may exceed its capacity by the number of readings being saved.
+ */
+@Component
+public class RecentReadingIds {
+    /**
+     * Placeholder of a reserved client reading ID whose reading is not saved yet.
+     */
+    public static final Long PENDING = -1L;
+
+    /**
+     * Reading IDs, or the placeholder of reserved IDs, keyed by device and client reading ID.
+     */
+    private final Map<ClientReadingKey, Long> readingIds = new ConcurrentHashMap<>();
+
+    /**
+     * Keys in the order they were added, used for eviction.
+     */
+    private final Queue<ClientReadingKey> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Maximum number of remembered IDs.
+     */
+    @Value("${readingIngestion.recentIdCapacity}")
+    private int capacity;
+
+    /**
+     * Reserves a client reading ID for a reading about to be processed, unless it is already known.
+     *
+     * @param deviceId        The ID of the device.
+     * @param clientReadingId The identifier assigned by the device.
+     * @return null if the ID was reserved by this call, otherwise the ID of the saved reading
+     * or {@link #PENDING} if the reading is being saved.
+     */
+    public Long reserve(Long deviceId, String clientReadingId) {
+        ClientReadingKey key = new ClientReadingKey(deviceId, clientReadingId);
+        Long existingValue = readingIds.putIfAbsent(key, PENDING);
+
+        if (existingValue == null) {
+            insertionOrder.add(key);
+
+            ClientReadingKey oldestKey;
+            int skippedReservations = 0;
+            while (readingIds.size() > capacity && skippedReservations <= capacity
+                    && (oldestKey = insertionOrder.poll()) != null) {
+                Long oldestValue = readingIds.get(oldestKey);
+                if (PENDING.equals(oldestValue)) {
+                    insertionOrder.add(oldestKey);
+                    skippedReservations++;
+                } else if (oldestValue != null) {
+                    // Removed only with the value seen, so a reservation made in the meantime is kept
+                    readingIds.remove(oldestKey, oldestValue);
+                }
+            }
+        }
+
+        return existingValue;
+    }
+
+    /**
+     * Replaces the reservation of a client reading ID with the ID of the saved reading.
+     * A reservation evicted in the meantime is not restored.
+     *
+     * @param deviceId        The ID of the device.
+     * @param clientReadingId The identifier assigned by the device.
+     * @param readingId       The ID of the saved reading.
+     */
+    public void complete(Long deviceId, String clientReadingId, Long readingId) {
+        readingIds.replace(new ClientReadingKey(deviceId, clientReadingId), PENDING, readingId);
+    }
+
+    /**
+     * Releases the reservation of a client reading ID whose reading was not saved, so a retry can save it.
+     *
+     * @param deviceId        The ID of the device.
+     * @param clientReadingId The identifier assigned by the device.
+     */
+    public void release(Long deviceId, String clientReadingId) {
+        readingIds.remove(new ClientReadingKey(deviceId, clientReadingId), PENDING);
+    }
+
+    /**
+     * Forgets the IDs of a device.
+     *
+     * @param deviceId The ID of the device.
+     */
+    public void forgetDevice(Long deviceId) {
+        readingIds.keySet().removeIf(key -> key.deviceId() == deviceId);
+        insertionOrder.removeIf(key -> key.deviceId() == deviceId);
+    }
+
+    /**
+     * Key identifying a reading by its device and client reading ID.
+     *
+     * @param deviceId        The ID of the device.
+     * @param clientReadingId The identifier assigned by the device.
+     */
+    private record ClientReadingKey(long deviceId, String clientReadingId) {
+    }
+}
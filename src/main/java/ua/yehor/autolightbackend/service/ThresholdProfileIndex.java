@@ -0,0 +1,147 @@
+package ua.yehor.autolightbackend.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ua.yehor.autolightbackend.model.ThresholdProfileEntity;
+import ua.yehor.autolightbackend.repository.ThresholdProfileRepository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory index of threshold profiles keyed by user and reading name.
+ * The whole index is periodically rebuilt from the database and swapped in at once,
+ * so profile changes made on other nodes are picked up without a restart.
+ * Writers hold a lock so a reload cannot drop a concurrent local change; lookups never lock.
+ * The lock is a ReentrantLock rather than a monitor, as a reload queries the database while holding it,
+ * which would pin a virtual thread to its carrier.
+ */
+@Component
+@RequiredArgsConstructor
+public class ThresholdProfileIndex {
+    /**
+     * Repository for managing ThresholdProfileEntity objects.
+     */
+    private final ThresholdProfileRepository thresholdProfileRepository;
+
+    /**
+     * Current thresholds keyed by user ID and reading name.
+     */
+    private volatile Map<ProfileKey, Threshold> thresholds = new ConcurrentHashMap<>();
+
+    /**
+     * Lock held by writers of the index.
+     */
+    private final Lock writeLock = new ReentrantLock();
+
+    /**
+     * Rebuilds the index from all stored profiles.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${thresholdProfiles.reloadIntervalInMilliseconds}",
+            initialDelayString = "${thresholdProfiles.reloadIntervalInMilliseconds}")
+    public void reload() {
+        writeLock.lock();
+        try {
+            Map<ProfileKey, Threshold> reloaded = new ConcurrentHashMap<>();
+
+            for (ThresholdProfileEntity profile : thresholdProfileRepository.findAll()) {
+                reloaded.put(new ProfileKey(profile.getUser().getId(), profile.getReadingName()), Threshold.of(profile));
+            }
+
+            thresholds = reloaded;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a profile in the index.
+     *
+     * @param profile The saved profile.
+     */
+    public void put(ThresholdProfileEntity profile) {
+        writeLock.lock();
+        try {
+            thresholds.put(new ProfileKey(profile.getUser().getId(), profile.getReadingName()), Threshold.of(profile));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a profile from the index.
+     *
+     * @param profile The deleted profile.
+     */
+    public void remove(ThresholdProfileEntity profile) {
+        writeLock.lock();
+        try {
+            thresholds.remove(new ProfileKey(profile.getUser().getId(), profile.getReadingName()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Classifies a reading value against the profile of its user.
+     *
+     * @param userId      The ID of the user owning the device.
+     * @param readingName The name of the reading.
+     * @param value       The value of the reading, or null if the reading has none.
+     * @return True if the value is outside the normal range, false if inside,
+     * or null if the user has no profile for this reading or the reading has no value.
+     */
+    public Boolean classify(Long userId, String readingName, Integer value) {
+        if (value == null) {
+            return null;
+        }
+
+        Threshold threshold = thresholds.get(new ProfileKey(userId, readingName));
+
+        return threshold == null ? null : threshold.isWarning(value);
+    }
+
+    /**
+     * Key identifying the profile of one user for one reading name.
+     *
+     * @param userId      The ID of the user.
+     * @param readingName The name of the reading.
+     */
+    private record ProfileKey(Long userId, String readingName) {
+    }
+
+    /**
+     * Normal range of a reading with missing bounds replaced by the extreme integer values.
+     *
+     * @param minValue The lowest normal value.
+     * @param maxValue The highest normal value.
+     */
+    public record Threshold(int minValue, int maxValue) {
+        /**
+         * Creates a threshold from a stored profile.
+         *
+         * @param profile The profile.
+         * @return The threshold of the profile.
+         */
+        public static Threshold of(ThresholdProfileEntity profile) {
+            return new Threshold(
+                    profile.getMinValue() == null ? Integer.MIN_VALUE : profile.getMinValue(),
+                    profile.getMaxValue() == null ? Integer.MAX_VALUE : profile.getMaxValue());
+        }
+
+        /**
+         * Checks if a value is outside the normal range.
+         *
+         * @param value The value of the reading.
+         * @return True if the value is a warning, false otherwise.
+         */
+        public boolean isWarning(int value) {
+            return value < minValue || value > maxValue;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ua.yehor.autolightbackend.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ua.yehor.autolightbackend.dto.ThresholdProfileDto;
+import ua.yehor.autolightbackend.model.ThresholdProfileEntity;
+import ua.yehor.autolightbackend.model.UserEntity;
+import ua.yehor.autolightbackend.repository.ThresholdProfileRepository;
+
+import java.util.List;
+
+/**
+ * Service class responsible for threshold profiles used to classify readings as warnings.
+ */
+@Service
+@RequiredArgsConstructor
+public class ThresholdProfileService {
+    /**
+     * Repository for managing ThresholdProfileEntity objects.
+     */
+    private final ThresholdProfileRepository thresholdProfileRepository;
+
+    /**
+     * Index of profiles consulted when readings are saved.
+     */
+    private final ThresholdProfileIndex thresholdProfileIndex;
+
+    /**
+     * Job reclassifying stored readings after a profile changes.
+     */
+    private final ReadingReclassificationJob readingReclassificationJob;
+
+    /**
+     * Service for user-related operations.
+     */
+    private final UserService userService;
+
+    /**
+     * Retrieves all threshold profiles of a user by their login.
+     *
+     * @param userLogin The login name of the user.
+     * @return A list of ThresholdProfileEntity objects of the user.
+     */
+    public List<ThresholdProfileEntity> getAllUserProfiles(String userLogin) {
+        return thresholdProfileRepository.findAllByUserLogin(userLogin);
+    }
+
+    /**
+     * Creates or updates the profile of a user for a reading name, and starts reclassification
+     * of the user's stored readings with that name in the background.
+     *
+     * @param thresholdProfileDto The ThresholdProfileDto containing profile information.
+     * @return The list of ThresholdProfileEntity objects of the user after saving.
+     */
+    public List<ThresholdProfileEntity> saveProfile(ThresholdProfileDto thresholdProfileDto) {
+        UserEntity user = userService.getByLogin(thresholdProfileDto.userLogin());
+
+        ThresholdProfileEntity profile = thresholdProfileRepository
+                .findByUserAndReadingName(user, thresholdProfileDto.readingName())
+                .orElseGet(() -> new ThresholdProfileEntity(user, thresholdProfileDto.readingName()));
+
+        profile.setMinValue(thresholdProfileDto.minValue());
+        profile.setMaxValue(thresholdProfileDto.maxValue());
+
+        ThresholdProfileEntity savedProfile = thresholdProfileRepository.save(profile);
+        thresholdProfileIndex.put(savedProfile);
+        readingReclassificationJob.reclassify(user.getId(), savedProfile.getReadingName(),
+                ThresholdProfileIndex.Threshold.of(savedProfile));
+
+        return getAllUserProfiles(user.getLogin());
+    }
+
+    /**
+     * Deletes the profile of a user for a reading name.
+     * Stored readings keep their current classification.
+     *
+     * @param userLogin   The login name of the user.
+     * @param readingName The name of the reading.
+     * @throws EntityNotFoundException if the profile is not found.
+     */
+    public void deleteProfile(String userLogin, String readingName) {
+        UserEntity user = userService.getByLogin(userLogin);
+
+        ThresholdProfileEntity profile = thresholdProfileRepository.findByUserAndReadingName(user, readingName)
+                .orElseThrow(EntityNotFoundException::new);
+
+        thresholdProfileRepository.delete(profile);
+        thresholdProfileIndex.remove(profile);
+    }
+}
@@ -2,18 +2,22 @@ package ua.yehor.autolightbackend.service;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ua.yehor.autolightbackend.dto.PageDto;
+import ua.yehor.autolightbackend.dto.UserSummaryDto;
+import ua.yehor.autolightbackend.exception.InvalidSortException;
 import ua.yehor.autolightbackend.exception.RoleAlreadyExistsException;
 import ua.yehor.autolightbackend.exception.UserNotContainsRoleException;
 import ua.yehor.autolightbackend.model.Role;
 import ua.yehor.autolightbackend.model.UserEntity;
+import ua.yehor.autolightbackend.model.UserSearchMode;
 import ua.yehor.autolightbackend.repository.UserRepository;
 
-import java.util.List;
 import java.util.Set;
 
 /**
@@ -22,6 +26,11 @@ import java.util.Set;
 @Service
 @RequiredArgsConstructor
 public class UserService {
+    /**
+     * Properties users may be sorted by; other properties, such as the password hash, are never exposed by sorting.
+     */
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("login", "id");
+
     /**
      * Repository for managing UserEntity objects.
      */
@@ -57,12 +66,27 @@ public class UserService {
     }
 
     /**
-     * Retrieves all users present in the system.
+     * Retrieves a page of users, optionally filtered by a search term matched against login, email and phone.
      *
-     * @return A list of all UserEntity objects present in the system.
+     * @param search   The search term, or null to list all users.
+     * @param mode     How the search term is matched.
+     * @param pageable The page to retrieve and its sorting.
+     * @return A PageDto of UserSummaryDto objects.
+     * @throws InvalidSortException if the users are to be sorted by a property other than login or id.
      */
-    public List<UserEntity> getAllUsers() {
-        return userRepository.findAll();
+    public PageDto<UserSummaryDto> getUsers(String search, UserSearchMode mode, Pageable pageable) {
+        pageable.getSort().stream()
+                .filter(order -> !SORTABLE_PROPERTIES.contains(order.getProperty()))
+                .findFirst()
+                .ifPresent(order -> {
+                    throw new InvalidSortException("Users cannot be sorted by " + order.getProperty());
+                });
+
+        if (search == null || search.isBlank()) {
+            return PageDto.of(userRepository.findAll(pageable).map(UserSummaryDto::of));
+        }
+
+        return PageDto.of(userRepository.search(mode.toPattern(search.strip()), pageable).map(UserSummaryDto::of));
     }
 
     /**
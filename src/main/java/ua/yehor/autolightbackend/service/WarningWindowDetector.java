@@ -0,0 +1,162 @@
+package ua.yehor.autolightbackend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detects sustained warnings of a device, such as a number of warnings within ten minutes.
+ * Each device has a small window of warning timestamps held in memory; when the window
+ * condition is met a match is emitted once and the window starts over.
+ * Warnings are placed by the time they were measured, so late arrivals within the window still count.
+ */
+@Component
+public class WarningWindowDetector {
+    /**
+     * Windows of warning timestamps keyed by device ID.
+     */
+    private final Map<Long, WarningWindow> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Kind of window the condition is evaluated on.
+     */
+    @Value("${alerts.windowType}")
+    private WindowType windowType;
+
+    /**
+     * Number of warnings within one window that raises an alert.
+     */
+    @Value("${alerts.warningCount}")
+    private int warningCount;
+
+    /**
+     * Length of the window in milliseconds.
+     */
+    @Value("${alerts.windowInMilliseconds}")
+    private long windowInMilliseconds;
+
+    /**
+     * Adds a warning of a device to its window and checks the window condition.
+     *
+     * @param deviceId  The ID of the device.
+     * @param timestamp The time of the warning in epoch milliseconds.
+     * @return The matched window if the condition is met, otherwise empty.
+     */
+    public Optional<WindowMatch> addWarning(Long deviceId, long timestamp) {
+        return windows.computeIfAbsent(deviceId, key -> new WarningWindow(warningCount))
+                .add(timestamp, windowType, warningCount, windowInMilliseconds);
+    }
+
+    /**
+     * Removes the window of a device.
+     *
+     * @param deviceId The ID of the device.
+     */
+    public void forgetDevice(Long deviceId) {
+        windows.remove(deviceId);
+    }
+
+    /**
+     * Kind of window the condition is evaluated on.
+     */
+    public enum WindowType {
+        /**
+         * The window ends at the latest warning and moves with every warning.
+         */
+        SLIDING,
+
+        /**
+         * Windows are fixed, consecutive intervals of time.
+         */
+        TUMBLING
+    }
+
+    /**
+     * Warnings of a window that met the condition.
+     *
+     * @param warningCount   The number of warnings in the window.
+     * @param firstTimestamp The time of the first warning in epoch milliseconds.
+     * @param lastTimestamp  The time of the last warning in epoch milliseconds.
+     */
+    public record WindowMatch(int warningCount, long firstTimestamp, long lastTimestamp) {
+    }
+
+    /**
+     * Warning timestamps of one device within its current window, kept in ascending order,
+     * so warnings arriving late are counted at the time they were measured.
+     */
+    private static final class WarningWindow {
+        /**
+         * Timestamps of the buffered warnings, oldest first.
+         */
+        private final long[] timestamps;
+
+        /**
+         * Number of buffered warnings.
+         */
+        private int size;
+
+        /**
+         * Latest warning time seen, which ends the current window.
+         */
+        private long latestTimestamp = Long.MIN_VALUE;
+
+        /**
+         * Constructs an empty window holding up to the given number of warnings.
+         *
+         * @param capacity The number of warnings that raises an alert.
+         */
+        private WarningWindow(int capacity) {
+            this.timestamps = new long[capacity];
+        }
+
+        /**
+         * Adds a warning and checks the window condition.
+         * Warnings measured before the start of the current window are too late to count and are ignored.
+         *
+         * @param timestamp            The time of the warning in epoch milliseconds.
+         * @param windowType           The kind of window.
+         * @param warningCount         The number of warnings that raises an alert.
+         * @param windowInMilliseconds The length of the window.
+         * @return The matched window if the condition is met, otherwise empty.
+         */
+        private synchronized Optional<WindowMatch> add(long timestamp, WindowType windowType, int warningCount,
+                                                       long windowInMilliseconds) {
+            latestTimestamp = Math.max(latestTimestamp, timestamp);
+
+            long windowStart = windowType == WindowType.SLIDING
+                    ? latestTimestamp - windowInMilliseconds
+                    : latestTimestamp - Math.floorMod(latestTimestamp, windowInMilliseconds) - 1;
+
+            if (timestamp <= windowStart) {
+                return Optional.empty();
+            }
+
+            int expired = 0;
+            while (expired < size && timestamps[expired] <= windowStart) {
+                expired++;
+            }
+            System.arraycopy(timestamps, expired, timestamps, 0, size - expired);
+            size -= expired;
+
+            int position = size;
+            while (position > 0 && timestamps[position - 1] > timestamp) {
+                timestamps[position] = timestamps[position - 1];
+                position--;
+            }
+            timestamps[position] = timestamp;
+            size++;
+
+            if (size < warningCount) {
+                return Optional.empty();
+            }
+
+            WindowMatch match = new WindowMatch(size, timestamps[0], timestamps[size - 1]);
+            size = 0;
+            return Optional.of(match);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package ua.yehor.autolightbackend.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import ua.yehor.autolightbackend.dto.LampCommandDto;
+import ua.yehor.autolightbackend.dto.ReadingBatchAckDto;
+import ua.yehor.autolightbackend.dto.ReadingBatchFrameDto;
+import ua.yehor.autolightbackend.dto.ReadingDto;
+import ua.yehor.autolightbackend.exception.IngestionOverloadedException;
+import ua.yehor.autolightbackend.model.ReadingEntity;
+import ua.yehor.autolightbackend.service.DevicePresenceTracker;
+import ua.yehor.autolightbackend.service.LampService;
+import ua.yehor.autolightbackend.service.ReadingBatchWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handler of the WebSocket channels of devices.
+ * Devices send frames of readings upstream and receive an acknowledgement per frame, while lamp commands
+ * are pushed downstream by the {@link DeviceChannelRegistry}. Readings are handed to the {@link ReadingBatchWriter},
+ * so no thread waits for them to be saved; a device with too many unacknowledged readings has its frames rejected
+ * until earlier frames are acknowledged.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeviceChannelHandler extends TextWebSocketHandler {
+    /**
+     * Name of the session attribute holding the number of readings of the device waiting to be saved.
+     */
+    private static final String PENDING_READINGS_ATTRIBUTE = "pendingReadings";
+
+    /**
+     * Name of the session attribute holding the session decorated for concurrent sending.
+     */
+    private static final String DECORATED_SESSION_ATTRIBUTE = "decoratedSession";
+
+    /**
+     * Registry of connected devices.
+     */
+    private final DeviceChannelRegistry deviceChannelRegistry;
+
+    /**
+     * Writer saving the received readings.
+     */
+    private final ReadingBatchWriter readingBatchWriter;
+
+    /**
+     * Service providing the current state of the lamps of a connecting device.
+     */
+    private final LampService lampService;
+
+    /**
+     * Tracker of device presence.
+     */
+    private final DevicePresenceTracker devicePresenceTracker;
+
+    /**
+     * Mapper deserializing frames from JSON.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Maximum number of readings of one device waiting to be saved.
+     */
+    @Value("${deviceChannel.maxPendingReadings}")
+    private int maxPendingReadings;
+
+    /**
+     * Registers the channel of a connected device and sends it the current light levels of its lamps,
+     * so a reconnecting device catches up with the changes made while it was away.
+     *
+     * @param session The WebSocket session of the channel.
+     */
+    @Override
+    public void afterConnectionEstablished(@NonNull WebSocketSession session) {
+        Long deviceId = getDeviceId(session);
+
+        WebSocketSession decoratedSession = deviceChannelRegistry.register(deviceId, session);
+        session.getAttributes().put(DECORATED_SESSION_ATTRIBUTE, decoratedSession);
+        session.getAttributes().put(PENDING_READINGS_ATTRIBUTE, new AtomicInteger());
+        devicePresenceTracker.recordActivity(deviceId);
+
+        lampService.getAllDeviceLamps(deviceId).forEach(lamp -> deviceChannelRegistry.send(decoratedSession,
+                new LampCommandDto(lamp.getName(), lamp.getLightLevel(), lamp.getVersion())));
+    }
+
+    /**
+     * Hands the readings of a frame to the writer and acknowledges the frame once all its readings are processed.
+     * The device ID of every reading is replaced by the ID of the device owning the channel.
+     *
+     * @param session The WebSocket session of the channel.
+     * @param message The frame of readings.
+     * @throws IOException if the frame is malformed and the channel cannot be closed.
+     */
+    @Override
+    protected void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message)
+            throws IOException {
+        ReadingBatchFrameDto frame;
+        try {
+            frame = objectMapper.readValue(message.getPayload(), ReadingBatchFrameDto.class);
+        } catch (IOException e) {
+            session.close(CloseStatus.BAD_DATA.withReason("Malformed reading frame"));
+            return;
+        }
+
+        WebSocketSession decoratedSession = (WebSocketSession) session.getAttributes().get(DECORATED_SESSION_ATTRIBUTE);
+        AtomicInteger pendingReadings = (AtomicInteger) session.getAttributes().get(PENDING_READINGS_ATTRIBUTE);
+        List<ReadingDto> readings = frame.readings() == null ? List.of() : frame.readings();
+
+        if (pendingReadings.addAndGet(readings.size()) > maxPendingReadings) {
+            pendingReadings.addAndGet(-readings.size());
+            deviceChannelRegistry.send(decoratedSession, ReadingBatchAckDto.rejected(frame.batchId(),
+                    "Too many unacknowledged readings"));
+            return;
+        }
+
+        Long deviceId = getDeviceId(session);
+        List<CompletableFuture<ReadingEntity>> results = new ArrayList<>(readings.size());
+        for (ReadingDto reading : readings) {
+            results.add(submit(new ReadingDto(deviceId, reading.name(), reading.value(), reading.isWarning(),
+                    reading.clientReadingId(), reading.measuredAt())));
+        }
+
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).whenComplete((ignored, exception) -> {
+            pendingReadings.addAndGet(-readings.size());
+            deviceChannelRegistry.send(decoratedSession, acknowledge(frame.batchId(), results));
+        });
+    }
+
+    /**
+     * Removes the channel of a disconnected device.
+     *
+     * @param session The WebSocket session of the channel.
+     * @param status  The status the channel was closed with.
+     */
+    @Override
+    public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus status) {
+        deviceChannelRegistry.unregister(getDeviceId(session), session);
+    }
+
+    /**
+     * Queues a reading to be saved, turning a full queue into a failed reading instead of failing the whole frame.
+     *
+     * @param readingDto The reading to save.
+     * @return A future of the saved reading.
+     */
+    private CompletableFuture<ReadingEntity> submit(ReadingDto readingDto) {
+        try {
+            return readingBatchWriter.submit(readingDto);
+        } catch (IngestionOverloadedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Builds the acknowledgement of a processed frame.
+     *
+     * @param batchId The ID of the frame.
+     * @param results The completed futures of the readings of the frame, in frame order.
+     * @return The acknowledgement.
+     */
+    private ReadingBatchAckDto acknowledge(String batchId, List<CompletableFuture<ReadingEntity>> results) {
+        List<Integer> failedIndexes = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).isCompletedExceptionally()) {
+                failedIndexes.add(i);
+            }
+        }
+
+        return ReadingBatchAckDto.processed(batchId, results.size() - failedIndexes.size(), failedIndexes);
+    }
+
+    /**
+     * Retrieves the ID of the device owning a channel.
+     *
+     * @param session The WebSocket session of the channel.
+     * @return The ID of the device.
+     */
+    private Long getDeviceId(WebSocketSession session) {
+        return (Long) session.getAttributes().get(DeviceHandshakeInterceptor.DEVICE_ID_ATTRIBUTE);
+    }
+}
@@ -0,0 +1,179 @@
+package ua.yehor.autolightbackend.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import ua.yehor.autolightbackend.dto.LampCommandDto;
+import ua.yehor.autolightbackend.event.DeviceKeysRevokedEvent;
+import ua.yehor.autolightbackend.event.LampLevelChangedEvent;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-memory table of the WebSocket channels of connected devices, routing frames to them.
+ * Every session is wrapped in a {@link ConcurrentWebSocketSessionDecorator}, so frames sent to a slow device are
+ * buffered up to a limit and a device not reading its frames in time is disconnected instead of blocking the server.
+ * Frames are sent from virtual threads, so neither request threads nor reading writers wait on a device's socket.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeviceChannelRegistry {
+    /**
+     * Status closing a channel replaced by a newer channel of the same device.
+     */
+    private static final CloseStatus REPLACED = new CloseStatus(4000, "Replaced by a newer connection");
+
+    /**
+     * Status closing a channel opened with a key that is no longer valid.
+     */
+    private static final CloseStatus KEY_REVOKED = CloseStatus.POLICY_VIOLATION.withReason("Device key revoked");
+
+    /**
+     * Mapper serializing frames to JSON.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Sessions of connected devices keyed by device ID.
+     */
+    private final Map<Long, WebSocketSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Executor sending frames, one virtual thread per frame.
+     */
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Time a single send may take before the device is disconnected.
+     */
+    @Value("${deviceChannel.sendTimeLimitInMilliseconds}")
+    private int sendTimeLimit;
+
+    /**
+     * Bytes of frames buffered for a device while a send is in progress.
+     */
+    @Value("${deviceChannel.sendBufferSizeLimit}")
+    private int sendBufferSizeLimit;
+
+    /**
+     * Registers the channel of a device, closing the previous channel of the device if there is one.
+     *
+     * @param deviceId The ID of the device.
+     * @param session  The WebSocket session of the channel.
+     * @return The session decorated for concurrent sending.
+     */
+    public WebSocketSession register(Long deviceId, WebSocketSession session) {
+        WebSocketSession decoratedSession = new ConcurrentWebSocketSessionDecorator(session, sendTimeLimit,
+                sendBufferSizeLimit, ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE);
+
+        WebSocketSession previousSession = sessions.put(deviceId, decoratedSession);
+        if (previousSession != null) {
+            close(previousSession, REPLACED);
+        }
+
+        return decoratedSession;
+    }
+
+    /**
+     * Removes the channel of a device, unless it was already replaced by a newer one.
+     *
+     * @param deviceId The ID of the device.
+     * @param session  The undecorated WebSocket session of the closed channel.
+     */
+    public void unregister(Long deviceId, WebSocketSession session) {
+        sessions.computeIfPresent(deviceId, (key, registeredSession) ->
+                registeredSession.getId().equals(session.getId()) ? null : registeredSession);
+    }
+
+    /**
+     * Sends a frame to a channel in the background.
+     *
+     * @param session The decorated WebSocket session of the channel.
+     * @param frame   The frame, serialized to JSON.
+     */
+    public void send(WebSocketSession session, Object frame) {
+        TextMessage message;
+        try {
+            message = new TextMessage(objectMapper.writeValueAsString(frame));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize frame " + frame, e);
+        }
+
+        senders.execute(() -> {
+            try {
+                if (session.isOpen()) {
+                    session.sendMessage(message);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Cannot send frame to session {}", session.getId(), e);
+                close(session, CloseStatus.SESSION_NOT_RELIABLE);
+            }
+        });
+    }
+
+    /**
+     * Sends a lamp command to the device owning a changed lamp, if the device is connected to this node.
+     *
+     * @param event The change of the lamp.
+     */
+    @EventListener
+    public void onLampLevelChanged(LampLevelChangedEvent event) {
+        WebSocketSession session = sessions.get(event.deviceId());
+
+        if (session != null) {
+            send(session, new LampCommandDto(event.lampName(), event.lightLevel(), event.version()));
+        }
+    }
+
+    /**
+     * Closes the channel of a device whose keys were revoked, so the device has to authenticate again.
+     * A device holding another valid key reconnects with it.
+     *
+     * @param event The revocation of the device's keys.
+     */
+    @EventListener
+    public void onDeviceKeysRevoked(DeviceKeysRevokedEvent event) {
+        WebSocketSession session = sessions.remove(event.deviceId());
+
+        if (session != null) {
+            close(session, KEY_REVOKED);
+        }
+    }
+
+    /**
+     * Closes all channels and stops sending frames on shutdown.
+     */
+    @PreDestroy
+    public void closeAll() {
+        sessions.values().forEach(session -> close(session, CloseStatus.GOING_AWAY));
+        senders.shutdown();
+    }
+
+    /**
+     * Closes a session, ignoring failures of an already broken connection.
+     *
+     * @param session The session to close.
+     * @param status  The close status sent to the device.
+     */
+    private void close(WebSocketSession session, CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            log.debug("Cannot close session {}", session.getId(), e);
+        }
+    }
+}
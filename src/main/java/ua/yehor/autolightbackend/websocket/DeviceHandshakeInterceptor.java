@@ -0,0 +1,59 @@
+package ua.yehor.autolightbackend.websocket;
+
+import lombok.NonNull;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import ua.yehor.autolightbackend.apikey.DeviceAuthenticationToken;
+
+import java.util.Map;
+
+/**
+ * Interceptor binding a WebSocket channel to the device that opened it.
+ * The device is authenticated once, by the API key of the handshake request;
+ * frames received later are trusted to come from that device.
+ */
+@Component
+public class DeviceHandshakeInterceptor implements HandshakeInterceptor {
+    /**
+     * Name of the session attribute holding the ID of the connected device.
+     */
+    public static final String DEVICE_ID_ATTRIBUTE = "deviceId";
+
+    /**
+     * Stores the ID of the authenticated device in the session attributes.
+     *
+     * @param request    The handshake request.
+     * @param response   The handshake response.
+     * @param wsHandler  The target WebSocket handler.
+     * @param attributes The attributes of the WebSocket session.
+     * @return True if the request was authenticated by a device key, false to reject the handshake.
+     */
+    @Override
+    public boolean beforeHandshake(@NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response,
+                                   @NonNull WebSocketHandler wsHandler, @NonNull Map<String, Object> attributes) {
+        if (request.getPrincipal() instanceof DeviceAuthenticationToken deviceAuthentication) {
+            attributes.put(DEVICE_ID_ATTRIBUTE, deviceAuthentication.getPrincipal());
+            return true;
+        }
+
+        response.setStatusCode(HttpStatus.FORBIDDEN);
+        return false;
+    }
+
+    /**
+     * Nothing to do after the handshake.
+     *
+     * @param request   The handshake request.
+     * @param response  The handshake response.
+     * @param wsHandler The target WebSocket handler.
+     * @param exception An exception raised during the handshake, or null.
+     */
+    @Override
+    public void afterHandshake(@NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response,
+                               @NonNull WebSocketHandler wsHandler, Exception exception) {
+    }
+}
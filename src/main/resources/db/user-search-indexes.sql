@@ -0,0 +1,13 @@
+-- Indexes backing the user search, which JPA annotations cannot express.
+-- Runs after Hibernate has updated the schema; every statement is idempotent.
+
+-- Prefix search on lower-case values, usable by LIKE 'term%' regardless of the database collation
+create index if not exists user_login_lower_prefix_idx on _user (lower(login) text_pattern_ops);
+create index if not exists user_email_lower_prefix_idx on _user (lower(email) text_pattern_ops);
+create index if not exists user_phone_lower_prefix_idx on _user (lower(phone) text_pattern_ops);
+
+-- Substring search, usable by LIKE '%term%'; requires permission to create the pg_trgm extension
+create extension if not exists pg_trgm;
+create index if not exists user_login_lower_trgm_idx on _user using gin (lower(login) gin_trgm_ops);
+create index if not exists user_email_lower_trgm_idx on _user using gin (lower(email) gin_trgm_ops);
+create index if not exists user_phone_lower_trgm_idx on _user using gin (lower(phone) gin_trgm_ops);
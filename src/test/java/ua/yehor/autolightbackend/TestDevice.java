@@ -0,0 +1,42 @@
+package ua.yehor.autolightbackend;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.yehor.autolightbackend.apikey.DeviceApiKeyService;
+import ua.yehor.autolightbackend.dto.AuthenticationRequestDto;
+import ua.yehor.autolightbackend.dto.DeviceDto;
+import ua.yehor.autolightbackend.dto.DeviceSummaryDto;
+import ua.yehor.autolightbackend.service.AuthenticationService;
+import ua.yehor.autolightbackend.service.DeviceService;
+
+/**
+ * Device of a newly registered user, created for a test.
+ * <p>
+ * Fields:
+ * - login: String representing the login of the user owning the device
+ * - id: Long representing the ID of the device
+ * - apiKey: String representing the API key the device authenticates with
+ */
+public record TestDevice(String login, Long id, String apiKey) {
+    /**
+     * Registers a user and creates a device with an API key for them.
+     *
+     * @param context The application context.
+     * @param login   The login of the new user, unique across the tests sharing the context.
+     * @return The created device.
+     */
+    public static TestDevice create(ApplicationContext context, String login) {
+        context.getBean(AuthenticationService.class).register(new AuthenticationRequestDto(login, "test-password"));
+
+        String deviceName = login + "-device";
+        // The user's devices are loaded lazily while the device is added, as within a request
+        Long deviceId = context.getBean(TransactionTemplate.class).execute(status ->
+                context.getBean(DeviceService.class).saveDevice(new DeviceDto(login, deviceName)).stream()
+                        .filter(device -> device.name().equals(deviceName))
+                        .map(DeviceSummaryDto::id)
+                        .findFirst()
+                        .orElseThrow());
+
+        return new TestDevice(login, deviceId, context.getBean(DeviceApiKeyService.class).createKey(deviceId).key());
+    }
+}
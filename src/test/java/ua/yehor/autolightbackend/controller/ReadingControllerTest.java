@@ -0,0 +1,103 @@
+package ua.yehor.autolightbackend.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ua.yehor.autolightbackend.TestDevice;
+import ua.yehor.autolightbackend.apikey.DeviceApiKeyAuthenticationFilter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks reading ingestion through the whole filter chain, device key authentication included.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadingControllerTest {
+    /**
+     * Client sending requests through the filters of the application.
+     */
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Context the test devices are created in.
+     */
+    @Autowired
+    private ApplicationContext context;
+
+    /**
+     * Checks that a reading posted asynchronously is answered with 201 Created once the writer saved it,
+     * which takes an async dispatch passing the security filters without the device key being checked again.
+     *
+     * @throws Exception if a request cannot be performed.
+     */
+    @Test
+    void saveReadingAsyncAnswersCreatedAfterAsyncDispatch() throws Exception {
+        TestDevice device = TestDevice.create(context, "async-readings-user");
+
+        MvcResult result = mockMvc.perform(post("/readings/async")
+                        .header(DeviceApiKeyAuthenticationFilter.DEVICE_KEY_HEADER, device.apiKey())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"deviceId\":" + device.id() + ",\"name\":\"light\",\"value\":300,"
+                                + "\"isWarning\":false,\"clientReadingId\":\"async-1\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.clientReadingId").value("async-1"));
+    }
+
+    /**
+     * Checks that a retried reading posted asynchronously is answered with the reading saved by the first attempt.
+     *
+     * @throws Exception if a request cannot be performed.
+     */
+    @Test
+    void saveReadingAsyncAnswersRetryWithSavedReading() throws Exception {
+        TestDevice device = TestDevice.create(context, "async-retry-user");
+
+        long firstId = postReadingAsync(device, "retry-1");
+        long retryId = postReadingAsync(device, "retry-1");
+
+        assertThat(retryId).isEqualTo(firstId);
+    }
+
+    /**
+     * Posts a reading asynchronously and waits for it to be saved.
+     *
+     * @param device          The device.
+     * @param clientReadingId The identifier of the reading.
+     * @return The ID of the saved reading.
+     * @throws Exception if a request cannot be performed.
+     */
+    private long postReadingAsync(TestDevice device, String clientReadingId) throws Exception {
+        MvcResult result = mockMvc.perform(post("/readings/async")
+                        .header(DeviceApiKeyAuthenticationFilter.DEVICE_KEY_HEADER, device.apiKey())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"deviceId\":" + device.id() + ",\"name\":\"light\",\"value\":300,"
+                                + "\"isWarning\":false,\"clientReadingId\":\"" + clientReadingId + "\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String response = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        return JsonPath.<Number>read(response, "$.id").longValue();
+    }
+}
@@ -0,0 +1,103 @@
+package ua.yehor.autolightbackend.querycount;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ua.yehor.autolightbackend.TestDevice;
+import ua.yehor.autolightbackend.apikey.DeviceApiKeyAuthenticationFilter;
+import ua.yehor.autolightbackend.service.ReadingService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the number of SQL statements of the hot paths against their budgets.
+ * Requests run in the strict mode, so a request exceeding its budget fails instead of being logged.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetTest {
+    /**
+     * Client sending requests through the filters of the application.
+     */
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Counter of the statements of the current thread.
+     */
+    @Autowired
+    private RequestQueryCounter requestQueryCounter;
+
+    /**
+     * Budget of statements per endpoint.
+     */
+    @Autowired
+    private QueryBudget queryBudget;
+
+    /**
+     * Service listing the warnings of a user.
+     */
+    @Autowired
+    private ReadingService readingService;
+
+    /**
+     * Context the test devices are created in.
+     */
+    @Autowired
+    private ApplicationContext context;
+
+    /**
+     * Checks that the warnings of all devices of a user are listed with a single statement.
+     */
+    @Test
+    void getAllUserWarningsExecutesOneStatement() {
+        TestDevice device = TestDevice.create(context, "warnings-user");
+        postReading(device, "warning-1", true);
+        postReading(device, "reading-2", false);
+
+        assertThat(readingService.getAllUserWarnings(device.login())).hasSize(1);
+        assertThat(requestQueryCounter.countStatements(() -> readingService.getAllUserWarnings(device.login())))
+                .isEqualTo(1);
+    }
+
+    /**
+     * Checks that saving a reading, authentication included, stays within the budget of POST /readings.
+     */
+    @Test
+    void postReadingStaysWithinItsBudget() {
+        TestDevice device = TestDevice.create(context, "readings-user");
+        postReading(device, "reading-1", false);
+
+        assertThat(requestQueryCounter.countStatements(() -> postReading(device, "reading-2", false)))
+                .isLessThanOrEqualTo(queryBudget.getLimit("POST /readings"));
+    }
+
+    /**
+     * Posts a reading authenticated by the key of its device and expects it to be saved.
+     *
+     * @param device          The device.
+     * @param clientReadingId The identifier of the reading.
+     * @param isWarning       The warning flag reported by the device.
+     */
+    private void postReading(TestDevice device, String clientReadingId, boolean isWarning) {
+        try {
+            mockMvc.perform(post("/readings")
+                            .header(DeviceApiKeyAuthenticationFilter.DEVICE_KEY_HEADER, device.apiKey())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"deviceId\":" + device.id() + ",\"name\":\"light\",\"value\":300,"
+                                    + "\"isWarning\":" + isWarning + ","
+                                    + "\"clientReadingId\":\"" + clientReadingId + "\"}"))
+                    .andExpect(status().isCreated());
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot post reading " + clientReadingId, e);
+        }
+    }
+}